@@ -0,0 +1,87 @@
+package com.examly.springapp.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP load against the running application with Tomcat's default 200 request threads and with 400.
+ * 400 client threads is twice the default pool, so the first mode queues requests in the connector
+ * while the second queues them on the Hikari pool, which bounds database concurrency either way.
+ * In-memory H2 never blocks on I/O, so the gap here is smaller than against MySQL.
+ * <p>
+ * Last run on JDK 17, one vCPU, 1 warmup and 3 x 10 s iterations. Many requests hit the 2 s pool
+ * timeout and were counted with their 503 in both modes:
+ * <pre>
+ *                       200 threads        400 threads
+ * filteredPage thrpt    0.120 +- 0.442     0.130 +- 0.507 ops/ms
+ * filteredPage p50/p99  3364 / 6325 ms     2814 / 7525 ms
+ * getById thrpt         0.188 +- 1.190     0.178 +- 1.032 ops/ms
+ * getById p50/p99       1321 / 4409 ms     (not finished)
+ * </pre>
+ * Throughput is the same within the error, so the request thread count is not the limit here.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(400)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class AssetLoadBenchmark {
+
+    static final int ROWS = 50_000;
+
+    @Param({"200", "400"})
+    public int tomcatThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkContext.startServer("load-" + tomcatThreads,
+                Map.of("server.tomcat.threads.max", tomcatThreads,
+                        // Every request comes from one address; measure the server, not the client budget
+                        "asset.ratelimit.enabled", false));
+        BenchmarkContext.seed(context, ROWS, "LOAD-");
+        baseUrl = "http://localhost:" + BenchmarkContext.port(context) + "/api/assets";
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newFixedThreadPool(32))
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getById() throws Exception {
+        // Ids are assigned from 1 on a fresh in-memory database
+        return send(baseUrl + "/" + (1 + ThreadLocalRandom.current().nextInt(ROWS)));
+    }
+
+    @Benchmark
+    public int filteredPage() throws Exception {
+        return send(baseUrl + "?type=HARDWARE&status=ASSIGNED&limit=50&after="
+                + ThreadLocalRandom.current().nextInt(ROWS));
+    }
+
+    private int send(String url) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
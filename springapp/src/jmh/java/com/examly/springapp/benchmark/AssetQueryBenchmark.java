@@ -0,0 +1,98 @@
+package com.examly.springapp.benchmark;
+
+import com.examly.springapp.dto.AssetFieldSelection;
+import com.examly.springapp.dto.AssetFilter;
+import com.examly.springapp.dto.AssetPage;
+import com.examly.springapp.model.Asset;
+import com.examly.springapp.service.AssetService;
+import com.examly.springapp.snapshot.AssetSnapshot;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// AssetService.getAllAssets over each filter branch, from the database or the snapshot; caching is disabled
+// so every call reaches the query path
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AssetQueryBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    // Whether unsearched filters are answered by the in-memory columnar snapshot
+    @Param({"false", "true"})
+    public boolean snapshot;
+
+    private ConfigurableApplicationContext context;
+    private AssetService assetService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkContext.start("query" + rows + snapshot, Map.of("asset.snapshot.enabled", snapshot));
+        BenchmarkContext.seed(context, rows, "Q-");
+        if (snapshot) {
+            AssetSnapshot assetSnapshot = context.getBean(AssetSnapshot.class);
+            while (!assetSnapshot.isReady()) {
+                Thread.sleep(50);
+            }
+        }
+        assetService = context.getBean(AssetService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Asset> unfiltered() {
+        return assetService.getAllAssets(AssetFilter.of(null, null, null));
+    }
+
+    @Benchmark
+    public List<Asset> byType() {
+        return assetService.getAllAssets(AssetFilter.of("PERIPHERAL", null, null));
+    }
+
+    @Benchmark
+    public List<Asset> byStatus() {
+        return assetService.getAllAssets(AssetFilter.of(null, "RETIRED", null));
+    }
+
+    @Benchmark
+    public List<Asset> byTypeAndStatus() {
+        return assetService.getAllAssets(AssetFilter.of("HARDWARE", "ASSIGNED", null));
+    }
+
+    @Benchmark
+    public List<Asset> bySiteAndType() {
+        return assetService.getAllAssets(AssetFilter.of("site7", "PERIPHERAL", null, null, null, null, null));
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> byTypeSummaryView() {
+        return assetService.getAssetFields(AssetFilter.of("PERIPHERAL", null, null), AssetFieldSelection.of(null, "summary"));
+    }
+
+    @Benchmark
+    public List<Asset> search() {
+        return assetService.getAllAssets(AssetFilter.of(null, null, "probook 12"));
+    }
+
+    @Benchmark
+    public List<Asset> typeStatusAndSearch() {
+        return assetService.getAllAssets(AssetFilter.of("HARDWARE", "ASSIGNED", "latitude"));
+    }
+
+    @Benchmark
+    public AssetPage<Asset> keysetPage() {
+        return assetService.getAssetPage(AssetFilter.of("SOFTWARE", null, null), (long) rows / 2, 100);
+    }
+}
@@ -0,0 +1,68 @@
+package com.examly.springapp.benchmark;
+
+import com.examly.springapp.model.Asset;
+import com.examly.springapp.model.AssetStatus;
+import com.examly.springapp.model.AssetType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Jackson cost of writing a large List<Asset> response body, isolated from the database
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AssetSerializationBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private List<Asset> assets;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        assets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Asset asset = new Asset();
+            asset.setId((long) i + 1);
+            asset.setName("Dell Latitude " + i);
+            asset.setType(AssetType.values()[i % AssetType.values().length]);
+            asset.setSerialNumber("SER-" + i);
+            asset.setPurchaseDate(LocalDate.of(2020, 1, 1).plusDays(i % 1500));
+            asset.setStatus(i % 2 == 0 ? AssetStatus.AVAILABLE : AssetStatus.ASSIGNED);
+            asset.setAssignedTo(i % 2 == 0 ? null : "user" + i);
+            assets.add(asset);
+        }
+    }
+
+    @Benchmark
+    public long writeList() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        objectMapper.writeValue(out, assets);
+        return out.count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
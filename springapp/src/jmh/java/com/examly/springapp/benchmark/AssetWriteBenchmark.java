@@ -0,0 +1,96 @@
+package com.examly.springapp.benchmark;
+
+import com.examly.springapp.dto.BulkImportResult;
+import com.examly.springapp.model.Asset;
+import com.examly.springapp.model.AssetStatus;
+import com.examly.springapp.model.AssetType;
+import com.examly.springapp.service.AssetImportService;
+import com.examly.springapp.service.AssetService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Write paths: one createAsset per asset versus the chunked bulk import, and status updates on a small hot set
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AssetWriteBenchmark {
+
+    static final int BATCH = 1000;
+    static final int HOT_ASSETS = 16;
+
+    private final AtomicInteger serials = new AtomicInteger();
+    private ConfigurableApplicationContext context;
+    private AssetService assetService;
+    private AssetImportService importService;
+    private long firstHotId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkContext.start("write");
+        assetService = context.getBean(AssetService.class);
+        importService = context.getBean(AssetImportService.class);
+        for (int i = 0; i < HOT_ASSETS; i++) {
+            Asset asset = newAsset("HOT-" + i);
+            long id = assetService.createAsset(asset).getId();
+            if (i == 0) {
+                firstHotId = id;
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Asset createSingle() {
+        return assetService.createAsset(newAsset("S-" + serials.incrementAndGet()));
+    }
+
+    // Scores are per asset, so they compare directly with createSingle
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public BulkImportResult createBatched() throws IOException {
+        StringBuilder csv = new StringBuilder("name,type,serialNumber,purchaseDate,status,assignedTo,site\n");
+        int first = serials.getAndAdd(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            BenchmarkContext.writeRow(csv, first + i, "B-");
+        }
+        return importService.importCsv(new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void updateStatusContended(Blackhole blackhole) {
+        long id = firstHotId + ThreadLocalRandom.current().nextInt(HOT_ASSETS);
+        String status = ThreadLocalRandom.current().nextBoolean() ? "AVAILABLE" : "UNDER_MAINTENANCE";
+        try {
+            blackhole.consume(assetService.updateAssetStatus(id, status, null));
+        } catch (RuntimeException conflict) {
+            blackhole.consume(conflict);
+        }
+    }
+
+    private static Asset newAsset(String serial) {
+        Asset asset = new Asset();
+        asset.setName("Benchmark asset " + serial);
+        asset.setType(AssetType.HARDWARE);
+        asset.setSerialNumber(serial);
+        asset.setPurchaseDate(LocalDate.of(2024, 1, 1));
+        asset.setStatus(AssetStatus.AVAILABLE);
+        return asset;
+    }
+}
@@ -0,0 +1,105 @@
+package com.examly.springapp.benchmark;
+
+import com.examly.springapp.ItAssetManagementSystemApplication;
+import com.examly.springapp.dto.BulkImportResult;
+import com.examly.springapp.model.AssetStatus;
+import com.examly.springapp.model.AssetType;
+import com.examly.springapp.service.AssetImportService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+// Boots the application against a private in-memory H2 database and seeds it through the bulk import path
+final class BenchmarkContext {
+
+    static final int SITES = 40;
+    private static final AssetType[] TYPES = AssetType.values();
+    private static final AssetStatus[] STATUSES = {
+            AssetStatus.AVAILABLE, AssetStatus.ASSIGNED, AssetStatus.UNDER_MAINTENANCE, AssetStatus.RETIRED
+    };
+    private static final String[] MODELS = {
+            "Dell Latitude", "HP ProBook", "Lenovo ThinkPad", "Apple MacBook", "Logitech Mouse",
+            "Microsoft Office", "Adobe Acrobat", "Cisco Switch", "Samsung Monitor", "Jabra Headset"
+    };
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String database, Map<String, Object> extraProperties) {
+        return start(database, extraProperties, WebApplicationType.NONE);
+    }
+
+    // Embedded Tomcat on a random port, read back with port(context)
+    static ConfigurableApplicationContext startServer(String database, Map<String, Object> extraProperties) {
+        Map<String, Object> properties = new HashMap<>(extraProperties);
+        properties.put("server.port", "0");
+        return start(database, properties, WebApplicationType.SERVLET);
+    }
+
+    static int port(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    private static ConfigurableApplicationContext start(String database, Map<String, Object> extraProperties,
+                                                        WebApplicationType webApplicationType) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:" + database + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        properties.put("spring.jpa.properties.hibernate.generate_statistics", "false");
+        properties.put("spring.cache.type", "none");
+        properties.put("logging.level.root", "WARN");
+        properties.putAll(extraProperties);
+        SpringApplication application = new SpringApplication(ItAssetManagementSystemApplication.class);
+        application.setWebApplicationType(webApplicationType);
+        // Passed as arguments so they take precedence over application.properties
+        return application.run(properties.entrySet().stream()
+                .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                .toArray(String[]::new));
+    }
+
+    static ConfigurableApplicationContext start(String database) {
+        return start(database, Map.of());
+    }
+
+    static BulkImportResult seed(ConfigurableApplicationContext context, int rows, String serialPrefix) throws IOException {
+        Path csv = Files.createTempFile("assets-", ".csv");
+        try {
+            try (BufferedWriter out = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+                out.write("name,type,serialNumber,purchaseDate,status,assignedTo,site\n");
+                for (int i = 0; i < rows; i++) {
+                    writeRow(out, i, serialPrefix);
+                }
+            }
+            try (InputStream in = Files.newInputStream(csv)) {
+                return context.getBean(AssetImportService.class).importCsv(in);
+            }
+        } finally {
+            Files.deleteIfExists(csv);
+        }
+    }
+
+    static void writeRow(Appendable out, int i, String serialPrefix) throws IOException {
+        AssetStatus status = STATUSES[i % STATUSES.length];
+        out.append(MODELS[i % MODELS.length]).append(' ').append(Integer.toString(i % 997))
+                .append(',').append(TYPES[i % TYPES.length].name())
+                .append(',').append(serialPrefix).append(Integer.toString(i))
+                .append(',').append(LocalDate.of(2015, 1, 1).plusDays(i % 3650).toString())
+                .append(',').append(status.name())
+                .append(',').append(status == AssetStatus.ASSIGNED ? "user" + (i % 5000) : "")
+                .append(',').append("site").append(Integer.toString(i % SITES))
+                .append('\n');
+    }
+}
@@ -0,0 +1,86 @@
+package com.examly.springapp.config;
+
+import com.examly.springapp.datasource.ReadYourWritesFilter;
+import com.examly.springapp.datasource.ReadYourWritesTracker;
+import com.examly.springapp.datasource.ReplicaRoutingDataSource;
+import com.examly.springapp.ratelimit.ClientResolver;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Sends read-only transactions to a replica when {@code asset.datasource.replica.url} is set.
+ * <p>
+ * The application's DataSource is a {@link LazyConnectionDataSourceProxy}: it hands out a placeholder
+ * connection and fetches a real one at the first statement. By then the transaction manager has marked
+ * the connection read-only for {@code @Transactional(readOnly = true)}, and such connections come from
+ * the read-only DataSource instead of the primary. That DataSource is the replica, or the primary again
+ * for clients inside their read-your-writes window. Work without a read-only transaction, which covers
+ * every write, Flyway and schema generation, stays on the primary.
+ */
+@Configuration
+@ConditionalOnProperty(name = "asset.datasource.replica.url")
+public class ReadWriteRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("asset.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${asset.datasource.replica.url}") String url,
+            @Value("${asset.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${asset.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${asset.datasource.read-your-writes-window:PT5S}") Duration window,
+            @Value("${asset.datasource.read-your-writes-max-clients:100000}") long maxClients) {
+        return new ReadYourWritesTracker(window, maxClients);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReadYourWritesTracker tracker, ClientResolver clientResolver) {
+        return new ReadYourWritesFilter(tracker, clientResolver);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReadYourWritesTracker tracker) {
+        ReplicaRoutingDataSource readOnly = new ReplicaRoutingDataSource(primary, replica, tracker);
+        readOnly.afterPropertiesSet();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(readOnly);
+        return dataSource;
+    }
+}
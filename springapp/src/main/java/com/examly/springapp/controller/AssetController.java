@@ -1,51 +1,314 @@
 package com.examly.springapp.controller;
 
+import com.examly.springapp.dto.AssetFieldSelection;
+import com.examly.springapp.dto.AssetFilter;
+import com.examly.springapp.dto.AssetSearchResult;
+import com.examly.springapp.dto.AssetStats;
+import com.examly.springapp.dto.BulkImportResult;
+import com.examly.springapp.dto.BulkStatusRequest;
+import com.examly.springapp.dto.BulkStatusResult;
+import com.examly.springapp.exception.ResourceNotFoundException;
 import com.examly.springapp.model.Asset;
+import com.examly.springapp.model.AssetEvent;
+import com.examly.springapp.ratelimit.ClientResolver;
+import com.examly.springapp.service.AssetBulkStatusService;
+import com.examly.springapp.service.AssetChangeFeed;
+import com.examly.springapp.service.AssetExportService;
+import com.examly.springapp.service.AssetHistoryService;
+import com.examly.springapp.service.AssetImportService;
 import com.examly.springapp.service.AssetService;
+import com.examly.springapp.service.AssetStatsService;
+import com.examly.springapp.service.IdempotencyStore;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDate;
 
 import java.util.*;
 
 @RestController
+@Timed(value = "asset.api", description = "Asset API endpoint latency", histogram = true)
 @RequestMapping("/api/assets")
 public class AssetController {
 
+    private static final String SEARCH_TRUNCATED = "X-Search-Truncated";
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType XLSX =
+            MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
     @Autowired
     private AssetService assetService;
 
+    @Autowired
+    private AssetImportService assetImportService;
+
+    @Autowired
+    private AssetBulkStatusService assetBulkStatusService;
+
+    @Autowired
+    private AssetStatsService assetStatsService;
+
+    @Autowired
+    private AssetHistoryService assetHistoryService;
+
+    @Autowired
+    private AssetChangeFeed assetChangeFeed;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private ClientResolver clientResolver;
+
+    @Autowired
+    private AssetExportService assetExportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     // 1. Create Asset
     @PostMapping
-    public ResponseEntity<?> createAsset(@Valid @RequestBody Asset asset) {
-        Asset createdAsset = assetService.createAsset(asset);
+    public ResponseEntity<?> createAsset(@Valid @RequestBody Asset asset,
+                                         @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                         HttpServletRequest request)
+            throws IOException {
+        Asset createdAsset = idempotencyKey == null
+                ? assetService.createAsset(asset)
+                : idempotencyStore.execute(clientResolver.clientOf(request), idempotencyKey, fingerprint(asset),
+                        () -> assetService.createAsset(asset));
         return new ResponseEntity<>(createdAsset, HttpStatus.CREATED);
     }
 
-    // 2. Get All Assets with filtering/search
+    private String fingerprint(Asset asset) throws IOException {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(asset));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 2. Get All Assets with filtering/search, optionally for one site; keyset-paginated when "after" or "limit" is given.
+    // "fields" (comma-separated) or "view" (summary, status, full) selects only some columns.
+    // Unsearched, unpaged lists carry a weak ETag from the filter's row count and latest update; a matching
+    // If-None-Match gets 304 before any row is loaded. Unpaged searches return the best asset.search.max-results
+    // matches and set X-Search-Truncated when more matched; paged searches return every match
     @GetMapping
-    public ResponseEntity<List<Asset>> getAllAssets(
+    public ResponseEntity<?> getAllAssets(
+            @RequestParam(required = false) String site,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String assignedTo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate purchasedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate purchasedTo,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view,
+            WebRequest webRequest
+    ) {
+        AssetFilter filter = AssetFilter.of(site, type, status, assignedTo, purchasedFrom, purchasedTo, search);
+        AssetFieldSelection selection = AssetFieldSelection.of(fields, view);
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+        boolean paged = after != null || limit != null;
+        // Search results are ranked and capped by the index, so they have no cheap validator. Pages get none
+        // either: the count and MAX(updatedAt) cover the whole filter, which a keyset page must not scan
+        if (!filter.hasSearch() && !paged) {
+            String eTag = assetService.getListVersion(filter).eTag();
+            if (webRequest.checkNotModified(eTag)) {
+                return null;
+            }
+            ok.eTag(eTag);
+        }
+        if (paged) {
+            return ok.body(selection != null
+                    ? assetService.getAssetFieldPage(filter, selection, after, limit)
+                    : assetService.getAssetPage(filter, after, limit));
+        }
+        if (filter.hasSearch()) {
+            AssetSearchResult<?> result = selection != null
+                    ? assetService.searchAssetFields(filter, selection)
+                    : assetService.searchAssets(filter);
+            if (result.isTruncated()) {
+                ok.header(SEARCH_TRUNCATED, "true");
+            }
+            return ok.body(result.getItems());
+        }
+        if (selection != null) {
+            return ok.body(assetService.getAssetFields(filter, selection));
+        }
+        List<Asset> assets = assetService.getAllAssets(filter);
+        return ok.body(assets);
+    }
+
+    // 2a. Stream all matching assets as NDJSON without materializing the result set
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAssets(
+            @RequestParam(required = false) String site,
             @RequestParam(required = false) String type,
             @RequestParam(required = false) String status,
-            @RequestParam(required = false) String search
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String assignedTo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate purchasedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate purchasedTo
+    ) {
+        AssetFilter filter = AssetFilter.of(site, type, status, assignedTo, purchasedFrom, purchasedTo, search);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                assetService.streamAssets(filter, asset -> {
+                    try {
+                        objectMapper.writeValue(generator, asset);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    // 2c. Inventory counts by type x status, assignee and purchase year, served from memory
+    @GetMapping("/stats")
+    public ResponseEntity<AssetStats> getStats() {
+        return ResponseEntity.ok(assetStatsService.getStats());
+    }
+
+    // 2d. Audit trail of one asset, oldest first; from/to are ISO instants (from inclusive, to exclusive)
+    @GetMapping("/{id}/history")
+    public ResponseEntity<List<AssetEvent>> getAssetHistory(
+            @PathVariable Long id,
+            @RequestParam(required = false) String site,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) Integer limit
     ) {
-        List<Asset> assets = assetService.getAllAssets(type, status, search);
-        return ResponseEntity.ok(assets);
+        return ResponseEntity.ok(assetHistoryService.getAssetHistory(id, site, from, to, limit));
     }
 
-    // 3. Update asset status (PATCH)
+    // 2e. Every event that gave an asset to or took one from an assignee
+    @GetMapping("/history")
+    public ResponseEntity<List<AssetEvent>> getAssigneeHistory(
+            @RequestParam String assignee,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(assetHistoryService.getAssigneeHistory(assignee, from, to, limit));
+    }
+
+    // 2f. Server-Sent Events feed of creates and status changes. Reconnect with Last-Event-ID to resume;
+    // a "resync" event means changes were missed and the list should be reloaded
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return assetChangeFeed.subscribe(lastEventId);
+    }
+
+    // 2g. Download the filtered inventory as CSV or XLSX, streamed from a database cursor
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAssets(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) String site,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String assignedTo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate purchasedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate purchasedTo
+    ) {
+        AssetFilter filter = AssetFilter.of(site, type, status, assignedTo, purchasedFrom, purchasedTo, search);
+        String filename = "assets-" + LocalDate.now() + "." + format;
+        ContentDisposition disposition = ContentDisposition.attachment().filename(filename).build();
+        StreamingResponseBody body;
+        MediaType contentType;
+        switch (format) {
+            case "csv" -> {
+                contentType = new MediaType("text", "csv", StandardCharsets.UTF_8);
+                body = out -> assetExportService.exportCsv(filter, out);
+            }
+            case "xlsx" -> {
+                contentType = XLSX;
+                body = out -> assetExportService.exportXlsx(filter, out);
+            }
+            default -> throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .contentType(contentType)
+                .body(body);
+    }
+
+    // 1a. Bulk import from a CSV body (header row required) or a JSON array, read as a stream
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public ResponseEntity<BulkImportResult> importAssetsCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(assetImportService.importCsv(body));
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkImportResult> importAssetsJson(InputStream body) throws IOException {
+        return ResponseEntity.ok(assetImportService.importJson(body));
+    }
+
+    // 2b. Get a single asset. The row version is a strong ETag; with the id cache, a matching
+    // If-None-Match or If-Modified-Since is answered with 304 without a query or serialization.
+    // An optional site restricts the lookup to that site's partition
+    @GetMapping("/{id}")
+    public ResponseEntity<Asset> getAssetById(@PathVariable Long id, @RequestParam(required = false) String site) {
+        Asset asset = assetService.getAssetById(id, site);
+        if (site != null && !site.isBlank() && !site.equals(asset.getSite())) {
+            throw new ResourceNotFoundException("Asset not found");
+        }
+        return ResponseEntity.ok()
+                .eTag(String.valueOf(asset.getVersion()))
+                .lastModified(asset.getUpdatedAt())
+                .body(asset);
+    }
+
+    // 3. Update asset status (PATCH); optional "version" guards against lost updates,
+    // "reassign": "true" is required to move an ASSIGNED asset to another user; optional site pins the partition
     @PatchMapping("/{id}/status")
     public ResponseEntity<?> updateAssetStatus(
         @PathVariable Long id,
-        @RequestBody Map<String, String> body // expects { "status": "...", "assignedTo": "..." }
+        @RequestParam(required = false) String site,
+        @RequestBody Map<String, String> body // expects { "status": "...", "assignedTo": "...", "version": ..., "reassign": ... }
     ) {
         if (!body.containsKey("status")) {
             return ResponseEntity.badRequest().body(Map.of("error", "Status is required"));
         }
         String status = body.get("status");
         String assignedTo = body.get("assignedTo");
-        Asset updated = assetService.updateAssetStatus(id, status, assignedTo);
+        Long version;
+        try {
+            version = body.get("version") == null ? null : Long.valueOf(body.get("version"));
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid version"));
+        }
+        boolean reassign = Boolean.parseBoolean(body.get("reassign"));
+        Asset updated = assetService.updateAssetStatus(id, site, status, assignedTo, version, reassign);
         return ResponseEntity.ok(updated);
     }
+
+    // 3a. Apply one status transition to a list of ids or to every asset matching a filter
+    @PatchMapping("/status")
+    public ResponseEntity<BulkStatusResult> updateAssetStatuses(@RequestBody BulkStatusRequest request) {
+        return ResponseEntity.ok(assetBulkStatusService.updateStatuses(request));
+    }
 }
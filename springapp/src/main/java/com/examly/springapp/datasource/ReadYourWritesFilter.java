@@ -0,0 +1,38 @@
+package com.examly.springapp.datasource;
+
+import com.examly.springapp.ratelimit.ClientResolver;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+// Any request that is not a GET/HEAD/OPTIONS counts as a write once it succeeds
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final ReadYourWritesTracker tracker;
+    private final ClientResolver clientResolver;
+
+    public ReadYourWritesFilter(ReadYourWritesTracker tracker, ClientResolver clientResolver) {
+        this.tracker = tracker;
+        this.clientResolver = clientResolver;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String client = clientResolver.clientOf(request);
+        boolean write = !READ_METHODS.contains(request.getMethod());
+        tracker.beginRequest(client, write);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            tracker.endRequest(client, write && response.getStatus() < 400);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.examly.springapp.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Remembers which clients wrote within the last {@code window}. A request from such a client, or any
+ * write request, is pinned to the primary for its whole duration, so a client always reads its own
+ * writes even while the replica lags. Pinned requests also skip the shared asset caches, which other
+ * clients fill from the replica.
+ */
+public class ReadYourWritesTracker {
+
+    private final Cache<String, Boolean> recentWriters;
+    private final ThreadLocal<Boolean> pinnedToPrimary = new ThreadLocal<>();
+    private final Duration window;
+
+    public ReadYourWritesTracker(Duration window, long maxClients) {
+        this.window = window;
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    public void beginRequest(String client, boolean write) {
+        pinnedToPrimary.set(write || recentWriters.getIfPresent(client) != null);
+    }
+
+    public void endRequest(String client, boolean wrote) {
+        pinnedToPrimary.remove();
+        if (wrote) {
+            recentWriters.put(client, Boolean.TRUE);
+        }
+    }
+
+    // Work outside a request (schedulers, async bodies) is not pinned
+    public boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(pinnedToPrimary.get());
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+}
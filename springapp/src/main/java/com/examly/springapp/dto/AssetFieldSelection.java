@@ -0,0 +1,49 @@
+package com.examly.springapp.dto;
+
+import java.util.*;
+
+// Columns requested with fields=a,b or a named view; the id is always included so pages can be continued
+public class AssetFieldSelection {
+    public static final Set<String> FIELDS = Set.of(
+            "id", "site", "name", "type", "serialNumber", "purchaseDate", "status", "assignedTo", "refreshDue", "version",
+            "updatedAt");
+
+    private static final Map<String, List<String>> VIEWS = Map.of(
+            "summary", List.of("id", "name", "serialNumber"),
+            "status", List.of("id", "serialNumber", "status", "assignedTo"));
+
+    private final List<String> fields;
+
+    private AssetFieldSelection(List<String> fields) {
+        this.fields = fields;
+    }
+
+    // Returns null when neither is given, meaning full entities
+    public static AssetFieldSelection of(String fields, String view) {
+        if (fields != null && !fields.isBlank()) {
+            Set<String> selected = new LinkedHashSet<>();
+            selected.add("id");
+            for (String field : fields.split(",")) {
+                String name = field.trim();
+                if (!FIELDS.contains(name)) {
+                    throw new IllegalArgumentException("Unknown field: " + name);
+                }
+                selected.add(name);
+            }
+            return new AssetFieldSelection(List.copyOf(selected));
+        }
+        if (view != null && !view.isBlank()) {
+            if ("full".equals(view)) {
+                return null;
+            }
+            List<String> selected = VIEWS.get(view);
+            if (selected == null) {
+                throw new IllegalArgumentException("Unknown view: " + view);
+            }
+            return new AssetFieldSelection(selected);
+        }
+        return null;
+    }
+
+    public List<String> getFields() { return fields; }
+}
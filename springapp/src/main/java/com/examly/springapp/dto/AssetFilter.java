@@ -0,0 +1,93 @@
+package com.examly.springapp.dto;
+
+import com.examly.springapp.model.AssetStatus;
+import com.examly.springapp.model.AssetType;
+import java.time.LocalDate;
+
+public class AssetFilter {
+    private String site;
+    private AssetType type;
+    private AssetStatus status;
+    private String assignedTo;
+    private LocalDate purchasedFrom;
+    private LocalDate purchasedTo;
+    private String search;
+    // Set when a request value cannot match anything (e.g. an unknown enum name)
+    private boolean unsatisfiable;
+
+    public static AssetFilter of(String site, String type, String status, String assignedTo,
+                                 LocalDate purchasedFrom, LocalDate purchasedTo, String search) {
+        AssetFilter filter = of(type, status, assignedTo, purchasedFrom, purchasedTo, search);
+        filter.site = emptyToNull(site);
+        return filter;
+    }
+
+    public static AssetFilter of(String type, String status, String assignedTo,
+                                 LocalDate purchasedFrom, LocalDate purchasedTo, String search) {
+        AssetFilter filter = new AssetFilter();
+        try {
+            filter.type = type == null ? null : AssetType.valueOf(type.toUpperCase());
+            filter.status = status == null ? null : AssetStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            filter.unsatisfiable = true;
+        }
+        filter.assignedTo = emptyToNull(assignedTo);
+        filter.purchasedFrom = purchasedFrom;
+        filter.purchasedTo = purchasedTo;
+        filter.search = emptyToNull(search);
+        return filter;
+    }
+
+    public static AssetFilter of(String type, String status, String search) {
+        return of(type, status, null, null, null, search);
+    }
+
+    public AssetFilter withoutSearch() {
+        AssetFilter copy = of(site, null, null, assignedTo, purchasedFrom, purchasedTo, null);
+        copy.type = type;
+        copy.status = status;
+        copy.unsatisfiable = unsatisfiable;
+        return copy;
+    }
+
+    // Only plain type/status lists (optionally for one site) are cached; they are what the dashboard polls
+    public boolean isTypeStatusOnly() {
+        return !unsatisfiable && (type != null || status != null) && assignedTo == null
+                && purchasedFrom == null && purchasedTo == null && search == null;
+    }
+
+    public String cacheKey() {
+        return listKey(site, type, status);
+    }
+
+    // The list's AssetListVersion is cached next to the list itself and evicted with it
+    public String versionCacheKey() {
+        return versionKey(cacheKey());
+    }
+
+    public static String versionKey(String listKey) {
+        return "version:" + listKey;
+    }
+
+    public static String listKey(String site, AssetType type, AssetStatus status) {
+        return (site == null ? "*" : site) + "/" + (type == null ? "*" : type.name()) + ":"
+                + (status == null ? "*" : status.name());
+    }
+
+    public boolean hasSearch() {
+        return search != null;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    public String getSite() { return site; }
+    public AssetType getType() { return type; }
+    public AssetStatus getStatus() { return status; }
+    public String getAssignedTo() { return assignedTo; }
+    public LocalDate getPurchasedFrom() { return purchasedFrom; }
+    public LocalDate getPurchasedTo() { return purchasedTo; }
+    public String getSearch() { return search; }
+    public boolean isUnsatisfiable() { return unsatisfiable; }
+}
@@ -0,0 +1,24 @@
+package com.examly.springapp.dto;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+// Row count and latest updatedAt of a filtered list: any row entering, leaving or changing moves one of them
+public class AssetListVersion {
+    private final long count;
+    private final Instant lastUpdated;
+
+    public AssetListVersion(long count, Instant lastUpdated) {
+        this.count = count;
+        this.lastUpdated = lastUpdated;
+    }
+
+    // Weak, since it identifies the list's state rather than the exact bytes of any one representation
+    public String eTag() {
+        long micros = lastUpdated == null ? 0L : ChronoUnit.MICROS.between(Instant.EPOCH, lastUpdated);
+        return "W/\"" + count + "-" + micros + "\"";
+    }
+
+    public long getCount() { return count; }
+    public Instant getLastUpdated() { return lastUpdated; }
+}
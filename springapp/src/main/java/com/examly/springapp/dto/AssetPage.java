@@ -0,0 +1,19 @@
+package com.examly.springapp.dto;
+
+import java.util.List;
+
+// T is Asset for full rows or a field map for projected rows
+public class AssetPage<T> {
+    private final List<T> items;
+    private final Long nextCursor;
+
+    public AssetPage(List<T> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() { return items; }
+
+    // Id to pass as "after" for the next page; null when this is the last page
+    public Long getNextCursor() { return nextCursor; }
+}
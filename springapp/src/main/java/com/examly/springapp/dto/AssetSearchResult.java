@@ -0,0 +1,19 @@
+package com.examly.springapp.dto;
+
+import java.util.List;
+
+// T is Asset for full rows or a field map for projected rows
+public class AssetSearchResult<T> {
+    private final List<T> items;
+    private final boolean truncated;
+
+    public AssetSearchResult(List<T> items, boolean truncated) {
+        this.items = items;
+        this.truncated = truncated;
+    }
+
+    public List<T> getItems() { return items; }
+
+    // True when more assets matched than asset.search.max-results allows; page the search to get them all
+    public boolean isTruncated() { return truncated; }
+}
@@ -0,0 +1,25 @@
+package com.examly.springapp.dto;
+
+import com.examly.springapp.model.AssetStatus;
+import com.examly.springapp.model.AssetType;
+import java.util.Map;
+
+public class AssetStats {
+    private final long total;
+    private final Map<AssetType, Map<AssetStatus, Long>> byTypeAndStatus;
+    private final Map<String, Long> byAssignee;
+    private final Map<Integer, Long> byPurchaseYear;
+
+    public AssetStats(long total, Map<AssetType, Map<AssetStatus, Long>> byTypeAndStatus,
+                      Map<String, Long> byAssignee, Map<Integer, Long> byPurchaseYear) {
+        this.total = total;
+        this.byTypeAndStatus = byTypeAndStatus;
+        this.byAssignee = byAssignee;
+        this.byPurchaseYear = byPurchaseYear;
+    }
+
+    public long getTotal() { return total; }
+    public Map<AssetType, Map<AssetStatus, Long>> getByTypeAndStatus() { return byTypeAndStatus; }
+    public Map<String, Long> getByAssignee() { return byAssignee; }
+    public Map<Integer, Long> getByPurchaseYear() { return byPurchaseYear; }
+}
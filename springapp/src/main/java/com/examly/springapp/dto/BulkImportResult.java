@@ -0,0 +1,28 @@
+package com.examly.springapp.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkImportResult {
+    private int total;
+    private int created;
+    private int duplicates;
+    private int invalid;
+    private final List<BulkImportRowResult> rows = new ArrayList<>();
+
+    public void add(BulkImportRowResult row) {
+        rows.add(row);
+        total++;
+        switch (row.getOutcome()) {
+            case CREATED -> created++;
+            case DUPLICATE -> duplicates++;
+            case INVALID -> invalid++;
+        }
+    }
+
+    public int getTotal() { return total; }
+    public int getCreated() { return created; }
+    public int getDuplicates() { return duplicates; }
+    public int getInvalid() { return invalid; }
+    public List<BulkImportRowResult> getRows() { return rows; }
+}
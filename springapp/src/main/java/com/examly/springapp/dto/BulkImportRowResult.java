@@ -0,0 +1,22 @@
+package com.examly.springapp.dto;
+
+public class BulkImportRowResult {
+    public enum Outcome { CREATED, DUPLICATE, INVALID }
+
+    private final int row;
+    private final String serialNumber;
+    private final Outcome outcome;
+    private final String message;
+
+    public BulkImportRowResult(int row, String serialNumber, Outcome outcome, String message) {
+        this.row = row;
+        this.serialNumber = serialNumber;
+        this.outcome = outcome;
+        this.message = message;
+    }
+
+    public int getRow() { return row; }
+    public String getSerialNumber() { return serialNumber; }
+    public Outcome getOutcome() { return outcome; }
+    public String getMessage() { return message; }
+}
@@ -0,0 +1,47 @@
+package com.examly.springapp.dto;
+
+import java.util.List;
+
+// Either "ids" or "filter" selects the assets; "status"/"assignedTo"/"reassign" describe the transition.
+// "site" restricts either selection to one site, so only that site's partition is locked
+public class BulkStatusRequest {
+    private String site;
+    private List<Long> ids;
+    private Filter filter;
+    private String status;
+    private String assignedTo;
+    private boolean reassign;
+
+    public String getSite() { return site; }
+    public void setSite(String site) { this.site = site; }
+
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+
+    public Filter getFilter() { return filter; }
+    public void setFilter(Filter filter) { this.filter = filter; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getAssignedTo() { return assignedTo; }
+    public void setAssignedTo(String assignedTo) { this.assignedTo = assignedTo; }
+
+    public boolean isReassign() { return reassign; }
+    public void setReassign(boolean reassign) { this.reassign = reassign; }
+
+    public static class Filter {
+        private String type;
+        private String status;
+        private String assignedTo;
+
+        public String getType() { return type; }
+        public void setType(String type) { this.type = type; }
+
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+
+        public String getAssignedTo() { return assignedTo; }
+        public void setAssignedTo(String assignedTo) { this.assignedTo = assignedTo; }
+    }
+}
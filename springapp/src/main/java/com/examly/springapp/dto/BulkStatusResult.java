@@ -0,0 +1,43 @@
+package com.examly.springapp.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkStatusResult {
+    public enum Outcome { UPDATED, NOT_FOUND, INVALID_TRANSITION }
+
+    private int updated;
+    private int notFound;
+    private int rejected;
+    private final List<Item> items = new ArrayList<>();
+
+    public void add(Long id, Outcome outcome, String message) {
+        items.add(new Item(id, outcome, message));
+        switch (outcome) {
+            case UPDATED -> updated++;
+            case NOT_FOUND -> notFound++;
+            case INVALID_TRANSITION -> rejected++;
+        }
+    }
+
+    public int getUpdated() { return updated; }
+    public int getNotFound() { return notFound; }
+    public int getRejected() { return rejected; }
+    public List<Item> getItems() { return items; }
+
+    public static class Item {
+        private final Long id;
+        private final Outcome outcome;
+        private final String message;
+
+        Item(Long id, Outcome outcome, String message) {
+            this.id = id;
+            this.outcome = outcome;
+            this.message = message;
+        }
+
+        public Long getId() { return id; }
+        public Outcome getOutcome() { return outcome; }
+        public String getMessage() { return message; }
+    }
+}
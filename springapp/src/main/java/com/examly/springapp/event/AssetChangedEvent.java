@@ -0,0 +1,76 @@
+package com.examly.springapp.event;
+
+import com.examly.springapp.model.Asset;
+import com.examly.springapp.model.AssetStatus;
+import com.examly.springapp.model.AssetType;
+import java.time.Instant;
+import java.time.LocalDate;
+
+// Immutable record of one create, status transition or refresh flag, published by the write paths after the change
+public class AssetChangedEvent {
+    public enum Kind { CREATED, STATUS_CHANGED, REFRESH_FLAGGED }
+
+    private final Kind kind;
+    private final Long assetId;
+    private final String site;
+    private final String name;
+    private final String serialNumber;
+    private final AssetType type;
+    private final LocalDate purchaseDate;
+    private final AssetStatus oldStatus;
+    private final AssetStatus newStatus;
+    private final String oldAssignee;
+    private final String newAssignee;
+    private final boolean refreshDue;
+    private final Long version;
+    private final Instant updatedAt;
+    private final Instant occurredAt;
+
+    private AssetChangedEvent(Kind kind, Asset asset, AssetStatus oldStatus, String oldAssignee) {
+        this.kind = kind;
+        this.assetId = asset.getId();
+        this.site = asset.getSite();
+        this.name = asset.getName();
+        this.serialNumber = asset.getSerialNumber();
+        this.type = asset.getType();
+        this.purchaseDate = asset.getPurchaseDate();
+        this.oldStatus = oldStatus;
+        this.newStatus = asset.getStatus();
+        this.oldAssignee = oldAssignee;
+        this.newAssignee = asset.getAssignedTo();
+        this.refreshDue = asset.isRefreshDue();
+        this.version = asset.getVersion();
+        this.updatedAt = asset.getUpdatedAt();
+        this.occurredAt = Instant.now();
+    }
+
+    public static AssetChangedEvent created(Asset asset) {
+        return new AssetChangedEvent(Kind.CREATED, asset, null, null);
+    }
+
+    // asset holds the state after the transition
+    public static AssetChangedEvent statusChanged(Asset asset, AssetStatus oldStatus, String oldAssignee) {
+        return new AssetChangedEvent(Kind.STATUS_CHANGED, asset, oldStatus, oldAssignee);
+    }
+
+    // Status and assignee are unchanged, so old and new are the same
+    public static AssetChangedEvent refreshFlagged(Asset asset) {
+        return new AssetChangedEvent(Kind.REFRESH_FLAGGED, asset, asset.getStatus(), asset.getAssignedTo());
+    }
+
+    public Kind getKind() { return kind; }
+    public Long getAssetId() { return assetId; }
+    public String getSite() { return site; }
+    public String getName() { return name; }
+    public String getSerialNumber() { return serialNumber; }
+    public AssetType getType() { return type; }
+    public LocalDate getPurchaseDate() { return purchaseDate; }
+    public AssetStatus getOldStatus() { return oldStatus; }
+    public AssetStatus getNewStatus() { return newStatus; }
+    public String getOldAssignee() { return oldAssignee; }
+    public String getNewAssignee() { return newAssignee; }
+    public boolean isRefreshDue() { return refreshDue; }
+    public Long getVersion() { return version; }
+    public Instant getUpdatedAt() { return updatedAt; }
+    public Instant getOccurredAt() { return occurredAt; }
+}
@@ -0,0 +1,7 @@
+package com.examly.springapp.exception;
+
+public class AssetConflictException extends RuntimeException {
+    public AssetConflictException(String message) {
+        super(message);
+    }
+}
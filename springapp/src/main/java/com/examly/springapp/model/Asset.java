@@ -1,15 +1,38 @@
 package com.examly.springapp.model;
 
+import com.examly.springapp.search.AssetSearchIndexListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 
 @Entity
+// Under the prod schema the table is partitioned by site (see V2 migration), so indexes are site-scoped. Serial
+// numbers stay unique across sites; there the asset_serial_number table holds the unique key (see V6 migration)
+@Table(uniqueConstraints = @UniqueConstraint(name = Asset.SERIAL_NUMBER_CONSTRAINT, columnNames = "serialNumber"),
+        indexes = {
+        // updatedAt makes this index cover the list ETag query (COUNT and MAX(updatedAt) per site/type/status)
+        @Index(name = "idx_asset_site_type_status", columnList = "site, type, status, updatedAt"),
+        @Index(name = "idx_asset_site_status_assigned_to", columnList = "site, status, assignedTo"),
+        @Index(name = "idx_asset_site_purchase_date", columnList = "site, purchaseDate"),
+        // Purchase-date ranges without a site (list filters, lifecycle sweep) would otherwise scan every partition
+        @Index(name = "idx_asset_purchase_date", columnList = "purchaseDate")
+})
+@EntityListeners(AssetSearchIndexListener.class)
 public class Asset {
+    public static final String SERIAL_NUMBER_CONSTRAINT = "uk_asset_serial_number";
+    public static final String DEFAULT_SITE = "default";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Optional on create; assets without one belong to DEFAULT_SITE
+    @Size(max = 32, message = "Site must be at most 32 characters")
+    @Column(nullable = false, length = 32, updatable = false)
+    private String site = DEFAULT_SITE;
+
     @NotBlank(message = "Name is mandatory")
     @Size(min = 3, max = 100, message = "Name must be 3–100 characters")
     private String name;
@@ -19,7 +42,6 @@ public class Asset {
     private AssetType type;
 
     @NotBlank(message = "Serial number is required")
-    @Column(unique = true)
     private String serialNumber;
 
     @NotNull(message = "Purchase date is required")
@@ -31,11 +53,36 @@ public class Asset {
 
     private String assignedTo;
 
+    // Set by the lifecycle sweep once the asset is older than its type's refresh age
+    @Column(nullable = false)
+    private boolean refreshDue;
+
+    @Version
+    private Long version;
+
+    // Moved on every write, including the bulk UPDATE queries; drives Last-Modified and the list ETag
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    // Microseconds, the column's precision, so the in-memory value matches what is stored
+    public static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = now();
+    }
+
     // Getters and setters
 
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
+    public String getSite() { return site; }
+    public void setSite(String site) { this.site = site; }
+
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
 
@@ -53,4 +100,13 @@ public class Asset {
 
     public String getAssignedTo() { return assignedTo; }
     public void setAssignedTo(String assignedTo) { this.assignedTo = assignedTo; }
+
+    public boolean isRefreshDue() { return refreshDue; }
+    public void setRefreshDue(boolean refreshDue) { this.refreshDue = refreshDue; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
 }
@@ -0,0 +1,52 @@
+package com.examly.springapp.model;
+
+import com.examly.springapp.event.AssetChangedEvent;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import java.time.Instant;
+
+// Append-only audit row for one create or status transition; written in batches by AssetAuditWriter
+@Entity
+@Immutable
+@Table(name = "asset_event", indexes = {
+        @Index(name = "idx_asset_event_asset_time", columnList = "assetId, occurredAt"),
+        @Index(name = "idx_asset_event_new_assignee_time", columnList = "newAssignee, occurredAt"),
+        @Index(name = "idx_asset_event_old_assignee_time", columnList = "oldAssignee, occurredAt")
+})
+public class AssetEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long assetId;
+
+    private String serialNumber;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private AssetChangedEvent.Kind kind;
+
+    @Enumerated(EnumType.STRING)
+    private AssetStatus oldStatus;
+
+    @Enumerated(EnumType.STRING)
+    private AssetStatus newStatus;
+
+    private String oldAssignee;
+
+    private String newAssignee;
+
+    @Column(nullable = false)
+    private Instant occurredAt;
+
+    public Long getId() { return id; }
+    public Long getAssetId() { return assetId; }
+    public String getSerialNumber() { return serialNumber; }
+    public AssetChangedEvent.Kind getKind() { return kind; }
+    public AssetStatus getOldStatus() { return oldStatus; }
+    public AssetStatus getNewStatus() { return newStatus; }
+    public String getOldAssignee() { return oldAssignee; }
+    public String getNewAssignee() { return newAssignee; }
+    public Instant getOccurredAt() { return occurredAt; }
+}
@@ -0,0 +1,45 @@
+package com.examly.springapp.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.time.LocalDate;
+
+// Resume point of one lifecycle rule: the last asset id handled by the current pass, or the day the last pass finished
+@Entity
+@Table(name = "asset_lifecycle_checkpoint")
+public class AssetLifecycleCheckpoint {
+    @Id
+    @Column(length = 64)
+    private String ruleKey;
+
+    @Column(nullable = false)
+    private long lastId;
+
+    private LocalDate completedOn;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    protected AssetLifecycleCheckpoint() {
+    }
+
+    public AssetLifecycleCheckpoint(String ruleKey) {
+        this.ruleKey = ruleKey;
+    }
+
+    public void advance(long lastId) {
+        this.lastId = lastId;
+        this.updatedAt = Instant.now();
+    }
+
+    public void complete(LocalDate day) {
+        this.lastId = 0L;
+        this.completedOn = day;
+        this.updatedAt = Instant.now();
+    }
+
+    public String getRuleKey() { return ruleKey; }
+    public long getLastId() { return lastId; }
+    public LocalDate getCompletedOn() { return completedOn; }
+    public Instant getUpdatedAt() { return updatedAt; }
+}
@@ -1,5 +1,28 @@
 package com.examly.springapp.model;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum AssetStatus {
-    AVAILABLE, ASSIGNED, UNDER_MAINTENANCE, RETIRED
+    AVAILABLE, ASSIGNED, UNDER_MAINTENANCE, RETIRED;
+
+    // Allowed status changes. RETIRED is terminal; ASSIGNED -> ASSIGNED is a reassignment and must be explicit.
+    public boolean canTransitionTo(AssetStatus target, boolean reassign) {
+        return switch (this) {
+            case AVAILABLE -> true;
+            case ASSIGNED -> target != ASSIGNED || reassign;
+            case UNDER_MAINTENANCE -> target != ASSIGNED;
+            case RETIRED -> false;
+        };
+    }
+
+    public static Set<AssetStatus> sourcesFor(AssetStatus target, boolean reassign) {
+        Set<AssetStatus> sources = EnumSet.noneOf(AssetStatus.class);
+        for (AssetStatus source : values()) {
+            if (source.canTransitionTo(target, reassign)) {
+                sources.add(source);
+            }
+        }
+        return sources;
+    }
 }
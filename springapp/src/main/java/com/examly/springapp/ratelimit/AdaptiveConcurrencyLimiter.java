@@ -0,0 +1,88 @@
+package com.examly.springapp.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caps in-flight API requests at a limit that follows database latency, in the style of a gradient
+ * limiter. The signal is the time each request spends in repository calls ({@link RepositoryTimingAspect}),
+ * not its total latency. A slow-moving average of it is the baseline; when recent requests run slower
+ * than {@code tolerance} times that baseline (the database is queueing), the limit shrinks in proportion,
+ * and while latency stays near the baseline and the limit is actually being used it grows by about
+ * its square root. Requests over the limit are shed instead of queueing behind the slow ones.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private static final int BASELINE_SAMPLES = 600;
+    private static final double SMOOTHING = 0.2;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private volatile double limit;
+    private double baselineNanos;
+
+    public AdaptiveConcurrencyLimiter(@Value("${asset.limiter.initial-limit:50}") int initialLimit,
+                                      @Value("${asset.limiter.min-limit:10}") int minLimit,
+                                      @Value("${asset.limiter.max-limit:400}") int maxLimit,
+                                      @Value("${asset.limiter.tolerance:2.0}") double tolerance,
+                                      MeterRegistry registry) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        Gauge.builder("asset.limiter.limit", this, l -> l.limit).register(registry);
+        Gauge.builder("asset.limiter.in.flight", inFlight, AtomicInteger::get).register(registry);
+    }
+
+    public boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > (int) limit) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    // A request that never reached the database (cache or snapshot hit) frees its slot without a sample
+    public void release(long latencyNanos) {
+        int current = inFlight.getAndDecrement();
+        if (latencyNanos <= 0) {
+            return;
+        }
+        // Samples that arrive while another thread is updating are dropped rather than waited for
+        if (!updateLock.tryLock()) {
+            return;
+        }
+        try {
+            if (baselineNanos == 0) {
+                baselineNanos = latencyNanos;
+                return;
+            }
+            baselineNanos += (latencyNanos - baselineNanos) / BASELINE_SAMPLES;
+            double gradient = Math.max(0.5, Math.min(1.0, tolerance * baselineNanos / latencyNanos));
+            double oldLimit = limit;
+            // Only grow when the current limit is being used, otherwise idle periods inflate it
+            double queue = current >= oldLimit / 2 ? Math.sqrt(oldLimit) : 0;
+            double target = oldLimit * gradient + queue;
+            limit = Math.max(minLimit, Math.min(maxLimit, oldLimit * (1 - SMOOTHING) + target * SMOOTHING));
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
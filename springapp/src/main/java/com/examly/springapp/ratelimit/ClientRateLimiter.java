@@ -0,0 +1,44 @@
+package com.examly.springapp.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// One pair of token buckets per client; idle clients are forgotten after asset.ratelimit.idle-expiry
+@Component
+public class ClientRateLimiter {
+
+    public enum Budget { LIST, ITEM }
+
+    private final Cache<String, TokenBucket[]> clients;
+    private final double listRate;
+    private final int listBurst;
+    private final double itemRate;
+    private final int itemBurst;
+
+    public ClientRateLimiter(@Value("${asset.ratelimit.list.per-second:10}") double listRate,
+                             @Value("${asset.ratelimit.list.burst:50}") int listBurst,
+                             @Value("${asset.ratelimit.item.per-second:100}") double itemRate,
+                             @Value("${asset.ratelimit.item.burst:200}") int itemBurst,
+                             @Value("${asset.ratelimit.max-clients:100000}") long maxClients,
+                             @Value("${asset.ratelimit.idle-expiry:PT10M}") Duration idleExpiry) {
+        this.listRate = listRate;
+        this.listBurst = listBurst;
+        this.itemRate = itemRate;
+        this.itemBurst = itemBurst;
+        this.clients = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(idleExpiry)
+                .build();
+    }
+
+    // Returns 0 when allowed, otherwise the nanoseconds the client should wait
+    public long tryAcquire(String client, Budget budget, int tokens) {
+        TokenBucket[] buckets = clients.get(client, c -> new TokenBucket[]{
+                new TokenBucket(listRate, listBurst), new TokenBucket(itemRate, itemBurst)});
+        return buckets[budget.ordinal()].tryTake(tokens, System.nanoTime());
+    }
+}
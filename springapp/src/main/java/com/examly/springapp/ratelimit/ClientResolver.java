@@ -0,0 +1,30 @@
+package com.examly.springapp.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Names the client behind a request for the rate limits, read-your-writes routing and idempotency keys.
+ * An {@code X-API-Key} header only names the client when it is one of {@code asset.api-keys}: any other
+ * value could be changed on every request to get a fresh identity, so those callers go by address.
+ */
+@Component
+public class ClientResolver {
+
+    static final String API_KEY_HEADER = "X-API-Key";
+
+    private final Set<String> apiKeys;
+
+    public ClientResolver(@Value("${asset.api-keys:}") Set<String> apiKeys) {
+        this.apiKeys = apiKeys.stream().map(String::trim).filter(k -> !k.isEmpty()).collect(Collectors.toSet());
+    }
+
+    public String clientOf(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        return apiKey != null && apiKeys.contains(apiKey) ? "key:" + apiKey : "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,101 @@
+package com.examly.springapp.ratelimit;
+
+import com.examly.springapp.exception.RateLimitExceededException;
+import com.examly.springapp.exception.ServiceBusyException;
+import com.examly.springapp.ratelimit.ClientRateLimiter.Budget;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the per-client token buckets and the adaptive concurrency limit to the API. List, stream,
+ * export and bulk calls draw from the LIST budget, and an unfiltered one costs
+ * {@code asset.ratelimit.unfiltered-cost} tokens because it scans the whole table; everything else
+ * draws one token from the ITEM budget. Clients are named by {@link ClientResolver}.
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final String ADMITTED = RateLimitInterceptor.class.getName() + ".admitted";
+
+    private static final Set<String> LIST_PATTERNS = Set.of(
+            "/api/assets", "/api/assets/stream", "/api/assets/export", "/api/assets/bulk", "/api/assets/status");
+    // Long-lived responses would hold a concurrency slot for minutes
+    private static final Set<String> STREAMING_PATTERNS = Set.of(
+            "/api/assets/stream", "/api/assets/export", "/api/assets/changes");
+    // Paging parameters are not filters: a keyset walk over the unfiltered table still reads all of it
+    private static final Set<String> FILTER_PARAMS = Set.of(
+            "site", "type", "status", "assignedTo", "search", "purchasedFrom", "purchasedTo");
+
+    @Autowired
+    private ClientResolver clientResolver;
+
+    @Autowired
+    private ClientRateLimiter clientRateLimiter;
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @Value("${asset.ratelimit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${asset.ratelimit.unfiltered-cost:5}")
+    private int unfilteredCost;
+
+    @Value("${asset.limiter.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Streaming and SSE responses are dispatched again once the body is ready; they were charged already
+        if (!enabled || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        String pattern = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        boolean list = LIST_PATTERNS.contains(pattern);
+        int tokens = list && isUnfiltered(request) ? unfilteredCost : 1;
+        long waitNanos = clientRateLimiter.tryAcquire(clientResolver.clientOf(request), list ? Budget.LIST : Budget.ITEM, tokens);
+        if (waitNanos > 0) {
+            throw new RateLimitExceededException("Rate limit exceeded",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L)));
+        }
+        if (!STREAMING_PATTERNS.contains(pattern)) {
+            if (!concurrencyLimiter.tryAcquire()) {
+                throw new ServiceBusyException("Server is overloaded, retry shortly", retryAfterSeconds);
+            }
+            request.setAttribute(ADMITTED, Boolean.TRUE);
+            RepositoryTimingAspect.begin();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(ADMITTED) != null) {
+            request.removeAttribute(ADMITTED);
+            concurrencyLimiter.release(RepositoryTimingAspect.end());
+        }
+    }
+
+    private static boolean isUnfiltered(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return false;
+        }
+        for (String param : FILTER_PARAMS) {
+            String value = request.getParameter(param);
+            // The controllers treat blank values as absent, so they must not buy the cheaper rate
+            if (value != null && !value.isBlank()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,51 @@
+package com.examly.springapp.ratelimit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds up the time a request spends in repository calls, which is the latency signal of the
+ * {@link AdaptiveConcurrencyLimiter}: serializing a large response or writing it to a slow client
+ * says nothing about whether the database is queueing. Only calls between {@link #begin()} and
+ * {@link #end()} on the same thread are counted, and a repository calling another counts once.
+ */
+@Aspect
+@Component
+public class RepositoryTimingAspect {
+
+    private static final ThreadLocal<Timing> CURRENT = new ThreadLocal<>();
+
+    static void begin() {
+        CURRENT.set(new Timing());
+    }
+
+    // Nanoseconds spent in repository calls since begin(); 0 when the request never reached the database
+    static long end() {
+        Timing timing = CURRENT.get();
+        CURRENT.remove();
+        return timing == null ? 0 : timing.nanos;
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object time(ProceedingJoinPoint call) throws Throwable {
+        Timing timing = CURRENT.get();
+        if (timing == null || timing.depth > 0) {
+            return call.proceed();
+        }
+        timing.depth++;
+        long start = System.nanoTime();
+        try {
+            return call.proceed();
+        } finally {
+            timing.nanos += System.nanoTime() - start;
+            timing.depth--;
+        }
+    }
+
+    private static final class Timing {
+        private long nanos;
+        private int depth;
+    }
+}
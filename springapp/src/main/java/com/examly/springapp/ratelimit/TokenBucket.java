@@ -0,0 +1,37 @@
+package com.examly.springapp.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket kept as a single "theoretical arrival time" (the generic cell rate algorithm): taking
+ * tokens pushes the time forward by their refill interval, and a request is allowed while that time is
+ * no more than one full bucket ahead of now. One CAS on one {@code long}, no lock and no refill task.
+ */
+final class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final AtomicLong arrival = new AtomicLong(Long.MIN_VALUE);
+
+    TokenBucket(double tokensPerSecond, int burst) {
+        this.nanosPerToken = (long) (1_000_000_000L / tokensPerSecond);
+        this.burstNanos = nanosPerToken * burst;
+    }
+
+    // Returns 0 when the tokens were taken, otherwise the nanoseconds until they would be available
+    long tryTake(int tokens, long now) {
+        long cost = nanosPerToken * tokens;
+        while (true) {
+            long current = arrival.get();
+            long start = Math.max(current, now);
+            long next = start + cost;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
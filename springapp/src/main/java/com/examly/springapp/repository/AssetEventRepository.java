@@ -0,0 +1,27 @@
+package com.examly.springapp.repository;
+
+import com.examly.springapp.model.AssetEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.Instant;
+import java.util.List;
+
+public interface AssetEventRepository extends JpaRepository<AssetEvent, Long> {
+
+    @Query("SELECT e FROM AssetEvent e WHERE e.assetId = :assetId"
+            + " AND e.occurredAt >= :from AND e.occurredAt < :to ORDER BY e.occurredAt, e.id")
+    List<AssetEvent> findAssetHistory(@Param("assetId") Long assetId,
+                                      @Param("from") Instant from,
+                                      @Param("to") Instant to,
+                                      Limit limit);
+
+    // Both sides of a hand-over count: the assignee receiving the asset and the one giving it up
+    @Query("SELECT e FROM AssetEvent e WHERE (e.newAssignee = :assignee OR e.oldAssignee = :assignee)"
+            + " AND e.occurredAt >= :from AND e.occurredAt < :to ORDER BY e.occurredAt, e.id")
+    List<AssetEvent> findAssigneeHistory(@Param("assignee") String assignee,
+                                         @Param("from") Instant from,
+                                         @Param("to") Instant to,
+                                         Limit limit);
+}
@@ -0,0 +1,7 @@
+package com.examly.springapp.repository;
+
+import com.examly.springapp.model.AssetLifecycleCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface AssetLifecycleCheckpointRepository extends JpaRepository<AssetLifecycleCheckpoint, String> {
+}
@@ -2,19 +2,92 @@ package com.examly.springapp.repository;
 
 import com.examly.springapp.model.Asset;
 import com.examly.springapp.model.AssetStatus;
-import com.examly.springapp.model.AssetType;
+import com.examly.springapp.search.SearchDocument;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface AssetRepository extends JpaRepository<Asset, Long> {
+public interface AssetRepository extends JpaRepository<Asset, Long>, JpaSpecificationExecutor<Asset>,
+        AssetRepositoryCustom {
     Optional<Asset> findBySerialNumber(String serialNumber);
 
-    List<Asset> findByTypeAndStatus(AssetType type, AssetStatus status);
+    // With the site known, an id lookup reads one partition instead of probing all of them
+    Optional<Asset> findBySiteAndId(String site, Long id);
 
-    List<Asset> findByType(AssetType type);
+    boolean existsBySiteAndId(String site, Long id);
 
-    List<Asset> findByStatus(AssetStatus status);
+    @Query("SELECT new com.examly.springapp.search.SearchDocument(a.id, a.name, a.serialNumber)"
+            + " FROM Asset a WHERE a.id > :after ORDER BY a.id")
+    List<SearchDocument> findSearchDocumentsAfter(@Param("after") long after, Limit limit);
 
-    List<Asset> findByNameContainingIgnoreCaseOrSerialNumberContainingIgnoreCase(String name, String serialNumber);
+    @Query("SELECT new com.examly.springapp.search.SearchDocument(a.id, a.name, a.serialNumber)"
+            + " FROM Asset a WHERE a.site = :site AND a.serialNumber IN :serialNumbers")
+    List<SearchDocument> findSearchDocumentsBySiteAndSerialNumberIn(@Param("site") String site,
+                                                                   @Param("serialNumbers") Collection<String> serialNumbers);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Asset a SET a.status = :newStatus, a.assignedTo = :assignedTo, a.version = a.version + 1,"
+            + " a.updatedAt = :updatedAt"
+            + " WHERE a.site = :site AND a.id = :id AND a.status = :expectedStatus AND a.version = :expectedVersion")
+    int transitionStatus(@Param("site") String site,
+                         @Param("id") Long id,
+                         @Param("expectedStatus") AssetStatus expectedStatus,
+                         @Param("expectedVersion") Long expectedVersion,
+                         @Param("newStatus") AssetStatus newStatus,
+                         @Param("assignedTo") String assignedTo,
+                         @Param("updatedAt") Instant updatedAt);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Asset a WHERE a.id IN :ids")
+    List<Asset> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    // Site-scoped variants of the bulk lock and update: with the site pinned, only that partition is touched
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Asset a WHERE a.site = :site AND a.id IN :ids")
+    List<Asset> findAllBySiteAndIdForUpdate(@Param("site") String site, @Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Asset a SET a.status = :newStatus, a.assignedTo = :assignedTo, a.version = a.version + 1,"
+            + " a.updatedAt = :updatedAt"
+            + " WHERE a.id IN :ids")
+    int updateStatusIn(@Param("ids") Collection<Long> ids,
+                       @Param("newStatus") AssetStatus newStatus,
+                       @Param("assignedTo") String assignedTo,
+                       @Param("updatedAt") Instant updatedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Asset a SET a.status = :newStatus, a.assignedTo = :assignedTo, a.version = a.version + 1,"
+            + " a.updatedAt = :updatedAt"
+            + " WHERE a.site = :site AND a.id IN :ids")
+    int updateStatusInSite(@Param("site") String site,
+                           @Param("ids") Collection<Long> ids,
+                           @Param("newStatus") AssetStatus newStatus,
+                           @Param("assignedTo") String assignedTo,
+                           @Param("updatedAt") Instant updatedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Asset a SET a.refreshDue = true, a.version = a.version + 1, a.updatedAt = :updatedAt"
+            + " WHERE a.id IN :ids")
+    int flagForRefreshIn(@Param("ids") Collection<Long> ids, @Param("updatedAt") Instant updatedAt);
+
+    @Query("SELECT a.type, a.status, COUNT(a) FROM Asset a GROUP BY a.type, a.status")
+    List<Object[]> countByTypeAndStatus();
+
+    @Query("SELECT a.assignedTo, COUNT(a) FROM Asset a WHERE a.assignedTo IS NOT NULL GROUP BY a.assignedTo")
+    List<Object[]> countByAssignee();
+
+    @Query("SELECT YEAR(a.purchaseDate), COUNT(a) FROM Asset a GROUP BY YEAR(a.purchaseDate)")
+    List<Object[]> countByPurchaseYear();
+
+    @Query("SELECT a.serialNumber FROM Asset a WHERE a.serialNumber IN :serialNumbers")
+    List<String> findExistingSerialNumbers(@Param("serialNumbers") Collection<String> serialNumbers);
 }
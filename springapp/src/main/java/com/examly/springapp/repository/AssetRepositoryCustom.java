@@ -0,0 +1,23 @@
+package com.examly.springapp.repository;
+
+import com.examly.springapp.dto.AssetListVersion;
+import com.examly.springapp.model.Asset;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public interface AssetRepositoryCustom {
+    // Forward-only cursor ordered by id; must be consumed inside a transaction and closed
+    Stream<Asset> stream(Specification<Asset> spec, int fetchSize);
+
+    // Next keyset page of matching ids only, without loading entities
+    List<Long> findIds(Specification<Asset> spec, long after, int limit);
+
+    // Only the named attributes, as field -> value maps ordered by id; no entities are instantiated
+    List<Map<String, Object>> findFields(Specification<Asset> spec, List<String> fields, long after, Limit limit);
+
+    // COUNT and MAX(updatedAt) of the matching rows, read from an index where one covers the filter
+    AssetListVersion findListVersion(Specification<Asset> spec);
+}
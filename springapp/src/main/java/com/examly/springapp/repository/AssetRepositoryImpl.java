@@ -0,0 +1,86 @@
+package com.examly.springapp.repository;
+
+import com.examly.springapp.dto.AssetListVersion;
+import com.examly.springapp.model.Asset;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public class AssetRepositoryImpl implements AssetRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<Asset> stream(Specification<Asset> spec, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Asset> query = cb.createQuery(Asset.class);
+        Root<Asset> root = query.from(Asset.class);
+        query.where(spec.toPredicate(root, query, cb));
+        query.orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public List<Long> findIds(Specification<Asset> spec, long after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Asset> root = query.from(Asset.class);
+        query.select(root.get("id"));
+        query.where(cb.and(spec.toPredicate(root, query, cb), cb.greaterThan(root.get("id"), after)));
+        query.orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public List<Map<String, Object>> findFields(Specification<Asset> spec, List<String> fields, long after, Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Asset> root = query.from(Asset.class);
+        query.multiselect(fields.stream().<Selection<?>>map(f -> root.get(f).alias(f)).toList());
+        query.where(cb.and(spec.toPredicate(root, query, cb), cb.greaterThan(root.get("id"), after)));
+        query.orderBy(cb.asc(root.get("id")));
+        TypedQuery<Tuple> typed = entityManager.createQuery(query);
+        if (limit.isLimited()) {
+            typed.setMaxResults(limit.max());
+        }
+        List<Tuple> tuples = typed.getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>(fields.size() * 2);
+            for (String field : fields) {
+                row.put(field, tuple.get(field));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    @Override
+    public AssetListVersion findListVersion(Specification<Asset> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Asset> root = query.from(Asset.class);
+        query.multiselect(cb.count(root), cb.greatest(root.<Instant>get("updatedAt")));
+        query.where(spec.toPredicate(root, query, cb));
+        Tuple tuple = entityManager.createQuery(query).getSingleResult();
+        return new AssetListVersion(tuple.get(0, Long.class), tuple.get(1, Instant.class));
+    }
+}
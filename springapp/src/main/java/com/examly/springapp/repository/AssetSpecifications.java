@@ -0,0 +1,72 @@
+package com.examly.springapp.repository;
+
+import com.examly.springapp.dto.AssetFilter;
+import com.examly.springapp.model.Asset;
+import com.examly.springapp.model.AssetStatus;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.EscapeCharacter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public final class AssetSpecifications {
+
+    private AssetSpecifications() {
+    }
+
+    // Builds one conjunction from whichever filter fields are set, so any mix of filters
+    // becomes a single WHERE clause the composite indexes on Asset can serve.
+    public static Specification<Asset> matching(AssetFilter filter) {
+        return (root, query, cb) -> {
+            if (filter.isUnsatisfiable()) {
+                return cb.disjunction();
+            }
+            List<Predicate> predicates = new ArrayList<>();
+            // Equality on the partition key lets MySQL prune the scan to the site's partition
+            if (filter.getSite() != null) {
+                predicates.add(cb.equal(root.get("site"), filter.getSite()));
+            }
+            if (filter.getType() != null) {
+                predicates.add(cb.equal(root.get("type"), filter.getType()));
+            }
+            if (filter.getStatus() != null) {
+                predicates.add(cb.equal(root.get("status"), filter.getStatus()));
+            }
+            if (filter.getAssignedTo() != null) {
+                predicates.add(cb.equal(root.get("assignedTo"), filter.getAssignedTo()));
+            }
+            if (filter.getPurchasedFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("purchaseDate"), filter.getPurchasedFrom()));
+            }
+            if (filter.getPurchasedTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("purchaseDate"), filter.getPurchasedTo()));
+            }
+            if (filter.getSearch() != null) {
+                // Escaped as the derived Containing query did, so %, _ and \ in the term match literally
+                String pattern = "%" + EscapeCharacter.DEFAULT.escape(filter.getSearch().toLowerCase()) + "%";
+                char escape = EscapeCharacter.DEFAULT.getEscapeCharacter();
+                predicates.add(cb.or(
+                        cb.like(cb.lower(root.get("name")), pattern, escape),
+                        cb.like(cb.lower(root.get("serialNumber")), pattern, escape)));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    public static Specification<Asset> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    public static Specification<Asset> statusIn(Collection<AssetStatus> statuses) {
+        return (root, query, cb) -> root.get("status").in(statuses);
+    }
+
+    public static Specification<Asset> refreshDue(boolean due) {
+        return (root, query, cb) -> cb.equal(root.get("refreshDue"), due);
+    }
+
+    public static Specification<Asset> idGreaterThan(long id) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), id);
+    }
+}
@@ -0,0 +1,297 @@
+package com.examly.springapp.search;
+
+import org.springframework.stereotype.Component;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over asset name and serial number.
+ * <p>
+ * Every lower-cased field is split into overlapping three-character grams, each gram keeps a sorted
+ * array of asset ids. A query of three or more characters is answered by intersecting the posting
+ * lists of its own grams and then verifying the substring match, which keeps the same semantics as
+ * the old {@code LIKE '%q%'} query. Shorter queries fall back to a scan of the in-memory documents,
+ * which reads the concurrent document map without taking the lock. Reads share a lock, so concurrent
+ * typeahead requests never block each other.
+ */
+@Component
+public class AssetSearchIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Doc> docs = new ConcurrentHashMap<>();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    void markReady() {
+        ready = true;
+    }
+
+    public void index(Long id, String name, String serialNumber) {
+        lock.writeLock().lock();
+        try {
+            indexLocked(id, name, serialNumber);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexAll(Collection<SearchDocument> documents) {
+        lock.writeLock().lock();
+        try {
+            for (SearchDocument document : documents) {
+                indexLocked(document.getId(), document.getName(), document.getSerialNumber());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Doc old = docs.remove(id);
+            if (old != null) {
+                unpost(id, old);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        return docs.size();
+    }
+
+    public List<Long> search(String query) {
+        return search(query, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns ids of assets whose name or serial number contains {@code query} (case-insensitive),
+     * best match first: exact, then prefix, then word prefix, then any substring.
+     */
+    public List<Long> search(String query, int limit) {
+        String q = query.toLowerCase(Locale.ROOT);
+        PriorityQueue<Hit> top = new PriorityQueue<>(Comparator.reverseOrder());
+        if (q.length() < 3) {
+            for (Map.Entry<Long, Doc> e : docs.entrySet()) {
+                offer(top, e.getKey(), e.getValue(), q, limit);
+            }
+        } else {
+            for (long id : candidates(q)) {
+                offer(top, id, docs.get(id), q, limit);
+            }
+        }
+        List<Hit> hits = new ArrayList<>(top);
+        Collections.sort(hits);
+        List<Long> ids = new ArrayList<>(hits.size());
+        for (Hit hit : hits) {
+            ids.add(hit.id);
+        }
+        return ids;
+    }
+
+    // Every matching id in ascending order, for callers that walk the matches in id order (pages, streams)
+    public long[] matchingIds(String query) {
+        String q = query.toLowerCase(Locale.ROOT);
+        long[] ids;
+        if (q.length() < 3) {
+            ids = docs.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        } else {
+            ids = candidates(q);
+        }
+        int n = 0;
+        for (long id : ids) {
+            Doc doc = docs.get(id);
+            if (doc != null && (doc.name.contains(q) || doc.serial.contains(q))) {
+                ids[n++] = id;
+            }
+        }
+        return Arrays.copyOf(ids, n);
+    }
+
+    private void indexLocked(Long id, String name, String serialNumber) {
+        Doc doc = new Doc(lower(name), lower(serialNumber));
+        Doc old = docs.put(id, doc);
+        if (old != null) {
+            if (old.name.equals(doc.name) && old.serial.equals(doc.serial)) {
+                return;
+            }
+            unpost(id, old);
+        }
+        for (String gram : grams(doc)) {
+            postings.computeIfAbsent(gram, g -> new PostingList()).add(id);
+        }
+    }
+
+    private void unpost(Long id, Doc doc) {
+        for (String gram : grams(doc)) {
+            PostingList list = postings.get(gram);
+            if (list != null && list.remove(id) && list.size == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private long[] candidates(String q) {
+        Set<String> grams = new HashSet<>();
+        addGrams(q, grams);
+        lock.readLock().lock();
+        try {
+            return intersect(grams);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long[] intersect(Set<String> grams) {
+        List<PostingList> lists = new ArrayList<>(grams.size());
+        for (String gram : grams) {
+            PostingList list = postings.get(gram);
+            if (list == null) {
+                return new long[0];
+            }
+            lists.add(list);
+        }
+        // Intersect starting from the rarest gram so the working set only shrinks
+        lists.sort(Comparator.comparingInt(l -> l.size));
+        long[] result = Arrays.copyOf(lists.get(0).ids, lists.get(0).size);
+        int n = result.length;
+        for (int i = 1; i < lists.size() && n > 0; i++) {
+            PostingList list = lists.get(i);
+            int kept = 0;
+            for (int j = 0; j < n; j++) {
+                if (Arrays.binarySearch(list.ids, 0, list.size, result[j]) >= 0) {
+                    result[kept++] = result[j];
+                }
+            }
+            n = kept;
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    private static void offer(PriorityQueue<Hit> top, long id, Doc doc, String q, int limit) {
+        if (doc == null) {
+            return;
+        }
+        int score = Math.max(score(doc.name, q), score(doc.serial, q));
+        if (score == 0) {
+            return;
+        }
+        Hit hit = new Hit(id, score, Math.min(doc.name.length(), doc.serial.length()));
+        if (top.size() < limit) {
+            top.add(hit);
+        } else if (hit.compareTo(top.peek()) < 0) {
+            top.poll();
+            top.add(hit);
+        }
+    }
+
+    private static int score(String field, String q) {
+        int at = field.indexOf(q);
+        if (at < 0) {
+            return 0;
+        }
+        if (field.length() == q.length()) {
+            return 4;
+        }
+        if (at == 0) {
+            return 3;
+        }
+        return Character.isLetterOrDigit(field.charAt(at - 1)) ? 1 : 2;
+    }
+
+    private static Set<String> grams(Doc doc) {
+        Set<String> grams = new HashSet<>();
+        addGrams(doc.name, grams);
+        addGrams(doc.serial, grams);
+        return grams;
+    }
+
+    private static void addGrams(String value, Set<String> grams) {
+        for (int i = 0; i + 3 <= value.length(); i++) {
+            grams.add(value.substring(i, i + 3));
+        }
+    }
+
+    private static String lower(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Doc {
+        final String name;
+        final String serial;
+
+        Doc(String name, String serial) {
+            this.name = name;
+            this.serial = serial;
+        }
+    }
+
+    // Sorted primitive id array; ids are generated in increasing order so adds are almost always appends
+    private static final class PostingList {
+        long[] ids = new long[4];
+        int size;
+
+        void add(long id) {
+            if (size > 0 && ids[size - 1] >= id) {
+                int at = Arrays.binarySearch(ids, 0, size, id);
+                if (at >= 0) {
+                    return;
+                }
+                insertAt(-at - 1, id);
+                return;
+            }
+            insertAt(size, id);
+        }
+
+        boolean remove(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            size--;
+            return true;
+        }
+
+        private void insertAt(int at, long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            ids[at] = id;
+            size++;
+        }
+    }
+
+    // Natural order is best-first: higher score, then shorter field, then lower id
+    private static final class Hit implements Comparable<Hit> {
+        final long id;
+        final int score;
+        final int length;
+
+        Hit(long id, int score, int length) {
+            this.id = id;
+            this.score = score;
+            this.length = length;
+        }
+
+        @Override
+        public int compareTo(Hit other) {
+            if (score != other.score) {
+                return Integer.compare(other.score, score);
+            }
+            if (length != other.length) {
+                return Integer.compare(length, other.length);
+            }
+            return Long.compare(id, other.id);
+        }
+    }
+}
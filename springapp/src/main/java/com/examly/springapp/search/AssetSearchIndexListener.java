@@ -0,0 +1,46 @@
+package com.examly.springapp.search;
+
+import com.examly.springapp.model.Asset;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Keeps the search index in step with every JPA write of an Asset, not just the service paths.
+// The entity callbacks run before commit, so they only queue the change; it reaches the index once
+// the write commits, and a rolled-back insert never becomes searchable
+@Component
+public class AssetSearchIndexListener {
+
+    @Autowired
+    private AssetSearchIndex searchIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Asset asset) {
+        eventPublisher.publishEvent(new IndexChange(asset.getId(), asset.getName(), asset.getSerialNumber(), false));
+    }
+
+    @PostRemove
+    public void onRemove(Asset asset) {
+        eventPublisher.publishEvent(new IndexChange(asset.getId(), null, null, true));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void apply(IndexChange change) {
+        if (change.removed()) {
+            searchIndex.remove(change.id());
+        } else {
+            searchIndex.index(change.id(), change.name(), change.serialNumber());
+        }
+    }
+
+    record IndexChange(Long id, String name, String serialNumber, boolean removed) {
+    }
+}
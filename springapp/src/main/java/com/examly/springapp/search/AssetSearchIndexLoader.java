@@ -0,0 +1,51 @@
+package com.examly.springapp.search;
+
+import com.examly.springapp.repository.AssetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import java.util.List;
+
+@Component
+public class AssetSearchIndexLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(AssetSearchIndexLoader.class);
+    private static final int PAGE_SIZE = 5000;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private AssetSearchIndex searchIndex;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private TaskExecutor taskExecutor;
+
+    // Searches keep using the database until the initial build is done
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        taskExecutor.execute(this::build);
+    }
+
+    void build() {
+        long started = System.currentTimeMillis();
+        long after = 0L;
+        List<SearchDocument> page;
+        do {
+            page = assetRepository.findSearchDocumentsAfter(after, Limit.of(PAGE_SIZE));
+            searchIndex.indexAll(page);
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == PAGE_SIZE);
+        searchIndex.markReady();
+        log.info("Search index built with {} assets in {} ms", searchIndex.size(), System.currentTimeMillis() - started);
+    }
+}
@@ -0,0 +1,17 @@
+package com.examly.springapp.search;
+
+public class SearchDocument {
+    private final Long id;
+    private final String name;
+    private final String serialNumber;
+
+    public SearchDocument(Long id, String name, String serialNumber) {
+        this.id = id;
+        this.name = name;
+        this.serialNumber = serialNumber;
+    }
+
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public String getSerialNumber() { return serialNumber; }
+}
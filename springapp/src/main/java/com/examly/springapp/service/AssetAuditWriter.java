@@ -0,0 +1,237 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.event.AssetChangedEvent;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Records committed asset changes in the {@code asset_event} table. Events are queued in memory and a
+ * background thread drains them every {@code asset.audit.flush-interval}, or as soon as a full batch
+ * is waiting, so write requests only pay for an {@code offer}. When the queue is full the publishing
+ * thread writes the backlog itself, which blocks writers rather than dropping audit rows.
+ * <p>
+ * A failed batch is retried {@code asset.audit.max-attempts} times with doubling backoff and then
+ * written to a file under {@code asset.audit.spill-dir}; spilled batches are inserted again after the
+ * next successful flush. The queue itself is only in memory: events not yet flushed are lost if the
+ * process is killed, while a normal shutdown flushes (or spills) them first.
+ */
+@Component
+public class AssetAuditWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(AssetAuditWriter.class);
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private static final String INSERT_SQL = "INSERT INTO asset_event"
+            + " (asset_id, serial_number, kind, old_status, new_status, old_assignee, new_assignee, occurred_at)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${asset.audit.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${asset.audit.batch-size:500}")
+    private int batchSize;
+
+    @Value("${asset.audit.flush-interval:PT1S}")
+    private Duration flushInterval;
+
+    @Value("${asset.audit.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${asset.audit.retry-backoff:PT0.5S}")
+    private Duration retryBackoff;
+
+    @Value("${asset.audit.spill-dir:${java.io.tmpdir}/asset-audit}")
+    private String spillDir;
+
+    private BlockingQueue<AssetChangedEvent> queue;
+    private Counter spilled;
+    private Counter failures;
+    private Thread writer;
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        spilled = Counter.builder("asset.audit.spilled").register(meterRegistry);
+        failures = Counter.builder("asset.audit.failed").register(meterRegistry);
+        Gauge.builder("asset.audit.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+        running = true;
+        writer = new Thread(this::run, "asset-audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        flush();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssetChanged(AssetChangedEvent event) {
+        while (!queue.offer(event)) {
+            flush();
+        }
+        if (queue.size() >= batchSize) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    // Writes everything queued so far on the calling thread
+    public synchronized void flush() {
+        List<AssetChangedEvent> drained = new ArrayList<>(batchSize);
+        boolean written = true;
+        while (queue.drainTo(drained, batchSize) > 0) {
+            List<AuditRow> batch = drained.stream().map(AuditRow::of).toList();
+            if (!writeWithRetry(batch)) {
+                spill(batch);
+                written = false;
+            }
+            drained.clear();
+        }
+        // Only once the database takes writes again, so an outage is not hit twice per flush
+        if (written) {
+            replaySpilled();
+        }
+    }
+
+    private void run() {
+        long intervalNanos = flushInterval.toNanos();
+        while (running) {
+            // Woken early by onAssetChanged once a full batch is waiting
+            LockSupport.parkNanos(this, intervalNanos);
+            if (Thread.interrupted()) {
+                return;
+            }
+            flush();
+        }
+    }
+
+    private boolean writeWithRetry(List<AuditRow> batch) {
+        long backoffMillis = retryBackoff.toMillis();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                insert(batch);
+                return true;
+            } catch (RuntimeException ex) {
+                if (attempt >= maxAttempts) {
+                    log.error("Failed to write {} asset audit events after {} attempts", batch.size(), attempt, ex);
+                    return false;
+                }
+                log.warn("Writing {} asset audit events failed (attempt {}), retrying in {} ms: {}",
+                        batch.size(), attempt, backoffMillis, ex.toString());
+            }
+            try {
+                Thread.sleep(backoffMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            backoffMillis *= 2;
+        }
+    }
+
+    private void insert(List<AuditRow> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, r) -> {
+            ps.setLong(1, r.assetId());
+            ps.setString(2, r.serialNumber());
+            ps.setString(3, r.kind());
+            ps.setString(4, r.oldStatus());
+            ps.setString(5, r.newStatus());
+            ps.setString(6, r.oldAssignee());
+            ps.setString(7, r.newAssignee());
+            // In UTC like Hibernate's Instant mapping, whatever the JVM's default zone
+            ps.setTimestamp(8, Timestamp.from(r.occurredAt()), Calendar.getInstance(UTC));
+        });
+    }
+
+    private void spill(List<AuditRow> batch) {
+        try {
+            Path dir = Files.createDirectories(Path.of(spillDir));
+            Path file = dir.resolve("audit-" + System.currentTimeMillis() + "-" + UUID.randomUUID() + ".json");
+            objectMapper.writeValue(file.toFile(), batch);
+            spilled.increment(batch.size());
+            log.warn("Spilled {} asset audit events to {}", batch.size(), file);
+        } catch (IOException e) {
+            failures.increment(batch.size());
+            log.error("Lost {} asset audit events: could not spill them to {}", batch.size(), spillDir, e);
+        }
+    }
+
+    // Oldest first; stops at the first batch that still fails and leaves it for the next flush
+    private void replaySpilled() {
+        Path dir = Path.of(spillDir);
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(dir)) {
+            files = listing.filter(f -> f.getFileName().toString().startsWith("audit-")).sorted().toList();
+        } catch (IOException e) {
+            log.warn("Could not list spilled asset audit events in {}", dir, e);
+            return;
+        }
+        for (Path file : files) {
+            try {
+                List<AuditRow> batch = objectMapper.readValue(file.toFile(), new TypeReference<List<AuditRow>>() { });
+                insert(batch);
+                Files.delete(file);
+                log.info("Replayed {} spilled asset audit events from {}", batch.size(), file);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Replaying spilled asset audit events from {} failed: {}", file, e.toString());
+                return;
+            }
+        }
+    }
+
+    // The columns of one asset_event row, in a form that survives a round trip through the spill file
+    private record AuditRow(long assetId, String serialNumber, String kind, String oldStatus, String newStatus,
+                            String oldAssignee, String newAssignee, Instant occurredAt) {
+        static AuditRow of(AssetChangedEvent e) {
+            return new AuditRow(e.getAssetId(), e.getSerialNumber(), e.getKind().name(),
+                    e.getOldStatus() == null ? null : e.getOldStatus().name(),
+                    e.getNewStatus() == null ? null : e.getNewStatus().name(),
+                    e.getOldAssignee(), e.getNewAssignee(), e.getOccurredAt());
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.AssetFilter;
+import com.examly.springapp.dto.BulkStatusRequest;
+import com.examly.springapp.dto.BulkStatusResult;
+import com.examly.springapp.dto.BulkStatusResult.Outcome;
+import com.examly.springapp.event.AssetChangedEvent;
+import com.examly.springapp.model.Asset;
+import com.examly.springapp.model.AssetStatus;
+import com.examly.springapp.repository.AssetRepository;
+import com.examly.springapp.repository.AssetSpecifications;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Applies one status transition to many assets. Work is split into chunks of {@link #CHUNK_SIZE} ids,
+ * each in its own short transaction: the chunk's rows are locked, checked against the same transition
+ * rules as {@link AssetService#updateAssetStatus}, and the permitted ones are changed with a single
+ * set-based UPDATE.
+ */
+@Service
+public class AssetBulkStatusService {
+
+    static final int CHUNK_SIZE = 500;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private AssetCacheEvictor cacheEvictor;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public AssetBulkStatusService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public BulkStatusResult updateStatuses(BulkStatusRequest request) {
+        boolean hasIds = request.getIds() != null && !request.getIds().isEmpty();
+        if (hasIds == (request.getFilter() != null)) {
+            throw new IllegalArgumentException("Provide either ids or filter");
+        }
+        if (request.getStatus() == null) {
+            throw new IllegalArgumentException("Status is required");
+        }
+        AssetStatus target = AssetService.parseStatus(request.getStatus());
+        String assignee = AssetService.assigneeFor(target, request.getAssignedTo());
+        String site = request.getSite() == null || request.getSite().isBlank() ? null : request.getSite();
+        BulkStatusResult result = new BulkStatusResult();
+        if (hasIds) {
+            List<Long> ids = new ArrayList<>(new LinkedHashSet<>(request.getIds()));
+            for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+                applyChunk(site, ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size())), target, assignee,
+                        request.isReassign(), result);
+            }
+        } else {
+            BulkStatusRequest.Filter f = request.getFilter();
+            AssetFilter filter = AssetFilter.of(site, f.getType(), f.getStatus(), f.getAssignedTo(), null, null, null);
+            if (filter.isUnsatisfiable()) {
+                return result;
+            }
+            Specification<Asset> spec = AssetSpecifications.matching(filter);
+            long after = 0L;
+            List<Long> chunk;
+            do {
+                chunk = assetRepository.findIds(spec, after, CHUNK_SIZE);
+                if (!chunk.isEmpty()) {
+                    applyChunk(site, chunk, target, assignee, request.isReassign(), result);
+                    after = chunk.get(chunk.size() - 1);
+                }
+            } while (chunk.size() == CHUNK_SIZE);
+        }
+        return result;
+    }
+
+    private void applyChunk(String site, List<Long> ids, AssetStatus target, String assignee, boolean reassign,
+                            BulkStatusResult result) {
+        transactionTemplate.executeWithoutResult(tx -> {
+            Map<Long, Asset> current = new HashMap<>();
+            List<Asset> locked = site == null
+                    ? assetRepository.findAllByIdForUpdate(ids)
+                    : assetRepository.findAllBySiteAndIdForUpdate(site, ids);
+            for (Asset asset : locked) {
+                current.put(asset.getId(), asset);
+            }
+            List<Long> permitted = new ArrayList<>(ids.size());
+            List<Asset> changed = new ArrayList<>(ids.size());
+            Set<String> listKeys = new HashSet<>();
+            for (Long id : ids) {
+                Asset asset = current.get(id);
+                if (asset == null) {
+                    result.add(id, Outcome.NOT_FOUND, "Asset not found");
+                } else if (!asset.getStatus().canTransitionTo(target, reassign)) {
+                    result.add(id, Outcome.INVALID_TRANSITION,
+                            "Cannot change status from " + asset.getStatus() + " to " + target);
+                } else {
+                    permitted.add(id);
+                    changed.add(asset);
+                    AssetCacheEvictor.addListKeys(listKeys, asset.getSite(), asset.getType(), asset.getStatus());
+                    AssetCacheEvictor.addListKeys(listKeys, asset.getSite(), asset.getType(), target);
+                    result.add(id, Outcome.UPDATED, null);
+                }
+            }
+            if (!permitted.isEmpty()) {
+                // Rows are locked above, so the set-based update sees exactly the states just checked
+                Instant now = Asset.now();
+                if (site == null) {
+                    assetRepository.updateStatusIn(permitted, target, assignee, now);
+                } else {
+                    assetRepository.updateStatusInSite(site, permitted, target, assignee, now);
+                }
+                cacheEvictor.assetsChanged(permitted, listKeys);
+                // The UPDATE cleared the persistence context, so the loaded copies can be patched into events
+                for (Asset asset : changed) {
+                    AssetStatus oldStatus = asset.getStatus();
+                    String oldAssignee = asset.getAssignedTo();
+                    asset.setStatus(target);
+                    asset.setAssignedTo(assignee);
+                    asset.setVersion(asset.getVersion() + 1);
+                    asset.setUpdatedAt(now);
+                    eventPublisher.publishEvent(AssetChangedEvent.statusChanged(asset, oldStatus, oldAssignee));
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,104 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.datasource.ReadYourWritesTracker;
+import com.examly.springapp.dto.AssetFilter;
+import com.examly.springapp.model.AssetStatus;
+import com.examly.springapp.model.AssetType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Evicts only the id entry and the type/status list entries a write can have changed
+@Component
+public class AssetCacheEvictor {
+
+    public static final String ASSETS = "assets";
+    public static final String ASSET_LISTS = "assetLists";
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    // Present only when reads are routed to a replica
+    @Autowired(required = false)
+    private ReadYourWritesTracker readYourWrites;
+
+    public void assetCreated(Long id, String site, AssetType type, AssetStatus status) {
+        Set<String> keys = new LinkedHashSet<>();
+        addListKeys(keys, site, type, status);
+        evict(List.of(id), keys);
+    }
+
+    public void statusChanged(Long id, String site, AssetType type, AssetStatus oldStatus, AssetStatus newStatus) {
+        Set<String> keys = new LinkedHashSet<>();
+        addListKeys(keys, site, type, oldStatus);
+        addListKeys(keys, site, type, newStatus);
+        evict(List.of(id), keys);
+    }
+
+    public void listsChanged(Set<String> listKeys) {
+        evict(List.of(), listKeys);
+    }
+
+    public void assetsChanged(Collection<Long> ids, Set<String> listKeys) {
+        evict(List.copyOf(ids), listKeys);
+    }
+
+    // Both the site's own lists and the all-sites lists contain the row
+    public static void addListKeys(Set<String> keys, String site, AssetType type, AssetStatus status) {
+        for (String s : new String[] {site, null}) {
+            keys.add(AssetFilter.listKey(s, type, status));
+            keys.add(AssetFilter.listKey(s, type, null));
+            keys.add(AssetFilter.listKey(s, null, status));
+        }
+    }
+
+    private void evict(Collection<Long> ids, Set<String> listKeys) {
+        evictNow(ids, listKeys);
+        // A reader may repopulate an entry before the writing transaction commits, so evict again after it
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(ids, listKeys);
+                    evictAfterReplicaLag(ids, listKeys);
+                }
+            });
+        } else {
+            evictAfterReplicaLag(ids, listKeys);
+        }
+    }
+
+    // Another client may refill an entry from a replica that has not applied the write yet
+    private void evictAfterReplicaLag(Collection<Long> ids, Set<String> listKeys) {
+        if (readYourWrites != null) {
+            taskScheduler.schedule(() -> evictNow(ids, listKeys), Instant.now().plus(readYourWrites.getWindow()));
+        }
+    }
+
+    private void evictNow(Collection<Long> ids, Set<String> listKeys) {
+        Cache assets = cacheManager.getCache(ASSETS);
+        if (assets != null) {
+            ids.forEach(assets::evict);
+        }
+        Cache lists = cacheManager.getCache(ASSET_LISTS);
+        if (lists != null) {
+            for (String key : listKeys) {
+                lists.evict(key);
+                lists.evict(AssetFilter.versionKey(key));
+            }
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.event.AssetChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans committed asset changes out to Server-Sent Events subscribers. Every change gets a sequence
+ * number and is kept in a ring of the last {@code asset.changes.history-size} changes so a client
+ * reconnecting with {@code Last-Event-ID} can catch up. Sequences start from the boot time in
+ * microseconds, so ids from an earlier process are always older than this one's history and get a
+ * {@code resync} rather than a replay of unrelated changes. Publishing never blocks on a client: each
+ * subscriber has a bounded queue drained on the feed's own sender threads, and a subscriber that falls
+ * behind loses its backlog and gets a {@code resync} event telling it to reload the list.
+ */
+@Component
+// Eager even under lazy initialization, otherwise its @Scheduled method is never registered
+@Lazy(false)
+public class AssetChangeFeed {
+
+    static final String RESYNC = "resync";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${asset.changes.history-size:1024}")
+    private int historySize;
+
+    @Value("${asset.changes.subscriber-buffer:256}")
+    private int subscriberBuffer;
+
+    @Value("${asset.changes.timeout:PT30M}")
+    private Duration timeout;
+
+    @Value("${asset.changes.sender-threads:4}")
+    private int senderThreads;
+
+    private final CopyOnWriteArrayList<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final long firstSequence = ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+    private long lastSequence = firstSequence;
+    private Change[] history;
+    // Blocking sends to slow clients stay off the shared application executor. A subscriber has at most
+    // one drain queued, so the unbounded hand-off queue never holds more than one task per subscriber
+    private ThreadPoolTaskExecutor senders;
+
+    @PostConstruct
+    void init() {
+        history = new Change[historySize];
+        senders = new ThreadPoolTaskExecutor();
+        senders.setCorePoolSize(senderThreads);
+        senders.setMaxPoolSize(senderThreads);
+        senders.setThreadNamePrefix("asset-changes-");
+        senders.setDaemon(true);
+        senders.initialize();
+        Gauge.builder("asset.changes.subscribers", subscribers, CopyOnWriteArrayList::size).register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        senders.shutdown();
+    }
+
+    // lastEventId is the sequence the client saw last, or null for only new changes
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        synchronized (this) {
+            if (lastEventId != null && lastEventId != lastSequence) {
+                long oldest = Math.max(firstSequence + 1, lastSequence - history.length + 1);
+                // Older than the history (or another boot), or ahead of it (another pod): replay is impossible
+                if (lastEventId + 1 < oldest || lastEventId > lastSequence
+                        || lastSequence - lastEventId > subscriberBuffer) {
+                    subscriber.queue.offer(Change.resync(lastSequence));
+                } else {
+                    for (long seq = lastEventId + 1; seq <= lastSequence; seq++) {
+                        subscriber.queue.offer(history[(int) (seq % history.length)]);
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        subscriber.schedule();
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssetChanged(AssetChangedEvent event) {
+        // Offers never block, so fanning out under the lock keeps subscribe() from seeing a change twice
+        synchronized (this) {
+            Change change = new Change(++lastSequence, event.getKind().name(), event);
+            history[(int) (change.sequence() % history.length)] = change;
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(change);
+            }
+        }
+    }
+
+    // Keeps idle connections from being closed by proxies between changes
+    @Scheduled(fixedDelayString = "${asset.changes.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.queue.isEmpty()) {
+                subscriber.offer(Change.HEARTBEAT);
+            }
+        }
+    }
+
+    private record Change(long sequence, String name, Object data) {
+        static final Change HEARTBEAT = new Change(0, null, null);
+
+        static Change resync(long sequence) {
+            return new Change(sequence, RESYNC, Map.of("sequence", sequence));
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Change> queue = new ArrayBlockingQueue<>(subscriberBuffer + 1);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(Change change) {
+            synchronized (this) {
+                if (!queue.offer(change)) {
+                    // Too far behind: the backlog is useless once a reload is needed, so replace it
+                    queue.clear();
+                    queue.offer(Change.resync(change.sequence()));
+                }
+            }
+            schedule();
+        }
+
+        void schedule() {
+            if (!closed && !queue.isEmpty() && draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Change change;
+                while ((change = queue.poll()) != null) {
+                    if (change == Change.HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        emitter.send(SseEmitter.event()
+                                .id(Long.toString(change.sequence()))
+                                .name(change.name())
+                                .data(change.data()));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                closed = true;
+                subscribers.remove(this);
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // A change may have arrived after the last poll but before the flag was cleared
+            schedule();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.AssetFilter;
+import com.examly.springapp.model.Asset;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes the filtered inventory straight to an output stream. Rows come from
+ * {@link AssetService#streamAssets}, a forward-only cursor that detaches each entity once written, and
+ * the XLSX writer keeps only a small window of rows in memory, so heap use does not grow with row count.
+ */
+@Service
+public class AssetExportService {
+
+    static final String[] COLUMNS = {"id", "name", "type", "serialNumber", "purchaseDate", "status", "assignedTo", "site"};
+    // Rows kept in memory by the XLSX writer before older ones are flushed to its temp file
+    static final int XLSX_WINDOW = 200;
+    // Excel's row limit per sheet, header included
+    static final int XLSX_MAX_ROWS = 1_048_576;
+
+    @Autowired
+    private AssetService assetService;
+
+    // Same header names as the bulk import, so an export can be re-imported
+    public void exportCsv(AssetFilter filter, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write(String.join(",", COLUMNS));
+        writer.write('\n');
+        assetService.streamAssets(filter, asset -> {
+            try {
+                writer.write(asset.getId().toString());
+                writer.write(',');
+                writeCsv(writer, asset.getName());
+                writer.write(',');
+                writer.write(asset.getType().name());
+                writer.write(',');
+                writeCsv(writer, asset.getSerialNumber());
+                writer.write(',');
+                writer.write(asset.getPurchaseDate().toString());
+                writer.write(',');
+                writer.write(asset.getStatus().name());
+                writer.write(',');
+                writeCsv(writer, asset.getAssignedTo());
+                writer.write(',');
+                writeCsv(writer, asset.getSite());
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    static void writeCsv(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    public void exportXlsx(AssetFilter filter, OutputStream out) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(XLSX_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd"));
+            XlsxSheets sheets = new XlsxSheets(workbook, dateStyle);
+            assetService.streamAssets(filter, sheets::write);
+            if (workbook.getNumberOfSheets() == 0) {
+                sheets.newSheet();
+            }
+            workbook.write(out);
+        } finally {
+            workbook.close();
+            workbook.dispose();
+        }
+    }
+
+    // Starts a new sheet whenever the current one reaches Excel's row limit
+    private static final class XlsxSheets {
+        private final SXSSFWorkbook workbook;
+        private final CellStyle dateStyle;
+        private Sheet sheet;
+        private int rowIndex;
+
+        XlsxSheets(SXSSFWorkbook workbook, CellStyle dateStyle) {
+            this.workbook = workbook;
+            this.dateStyle = dateStyle;
+        }
+
+        void newSheet() {
+            sheet = workbook.createSheet("Assets" + (workbook.getNumberOfSheets() == 0 ? "" : " " + (workbook.getNumberOfSheets() + 1)));
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < COLUMNS.length; i++) {
+                header.createCell(i).setCellValue(COLUMNS[i]);
+            }
+            rowIndex = 1;
+        }
+
+        void write(Asset asset) {
+            if (sheet == null || rowIndex == XLSX_MAX_ROWS) {
+                newSheet();
+            }
+            Row row = sheet.createRow(rowIndex++);
+            row.createCell(0).setCellValue(asset.getId());
+            row.createCell(1).setCellValue(asset.getName());
+            row.createCell(2).setCellValue(asset.getType().name());
+            row.createCell(3).setCellValue(asset.getSerialNumber());
+            row.createCell(4).setCellValue(asset.getPurchaseDate());
+            row.getCell(4).setCellStyle(dateStyle);
+            row.createCell(5).setCellValue(asset.getStatus().name());
+            if (asset.getAssignedTo() != null) {
+                row.createCell(6).setCellValue(asset.getAssignedTo());
+            }
+            row.createCell(7).setCellValue(asset.getSite());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.exception.ResourceNotFoundException;
+import com.examly.springapp.model.AssetEvent;
+import com.examly.springapp.repository.AssetEventRepository;
+import com.examly.springapp.repository.AssetRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+public class AssetHistoryService {
+
+    static final int DEFAULT_LIMIT = 1000;
+    static final int MAX_LIMIT = 10000;
+
+    @Autowired
+    private AssetEventRepository assetEventRepository;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    public List<AssetEvent> getAssetHistory(Long assetId, String site, Instant from, Instant to, Integer limit) {
+        boolean exists = site == null || site.isBlank()
+                ? assetRepository.existsById(assetId)
+                : assetRepository.existsBySiteAndId(site, assetId);
+        if (!exists) {
+            throw new ResourceNotFoundException("Asset not found");
+        }
+        return assetEventRepository.findAssetHistory(assetId, lower(from), upper(to), limit(limit));
+    }
+
+    public List<AssetEvent> getAssigneeHistory(String assignee, Instant from, Instant to, Integer limit) {
+        if (assignee == null || assignee.isBlank()) {
+            throw new IllegalArgumentException("assignee is required");
+        }
+        return assetEventRepository.findAssigneeHistory(assignee, lower(from), upper(to), limit(limit));
+    }
+
+    private static Instant lower(Instant from) {
+        return from == null ? Instant.EPOCH : from;
+    }
+
+    private static Instant upper(Instant to) {
+        return to == null ? Instant.now().plusSeconds(1) : to;
+    }
+
+    private static Limit limit(Integer limit) {
+        return Limit.of(limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+}
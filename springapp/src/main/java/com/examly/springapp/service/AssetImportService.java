@@ -0,0 +1,324 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.BulkImportResult;
+import com.examly.springapp.dto.BulkImportRowResult;
+import com.examly.springapp.dto.BulkImportRowResult.Outcome;
+import com.examly.springapp.event.AssetChangedEvent;
+import com.examly.springapp.model.Asset;
+import com.examly.springapp.model.AssetStatus;
+import com.examly.springapp.model.AssetType;
+import com.examly.springapp.repository.AssetRepository;
+import com.examly.springapp.search.AssetSearchIndex;
+import com.examly.springapp.search.SearchDocument;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Streams a CSV or JSON array of assets into the table in chunks: rows are validated as they are
+ * read, serial numbers are checked with one {@code IN} query per chunk and new rows are written
+ * with a single JDBC batch per chunk, each chunk in its own transaction. Rows without a site go to
+ * {@link Asset#DEFAULT_SITE}; serial numbers are unique across all sites.
+ */
+@Service
+public class AssetImportService {
+
+    static final int CHUNK_SIZE = 1000;
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private static final String INSERT_SQL = "INSERT INTO asset"
+            + " (site, name, type, serial_number, purchase_date, status, assigned_to, refresh_due, updated_at, version)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, FALSE, ?, 0)";
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AssetSearchIndex searchIndex;
+
+    @Autowired
+    private AssetCacheEvictor cacheEvictor;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public AssetImportService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public BulkImportResult importJson(InputStream in) throws IOException {
+        Importer importer = new Importer();
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of assets");
+            }
+            int row = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                row++;
+                JsonNode node = parser.readValueAsTree();
+                try {
+                    importer.accept(new ParsedRow(row, objectMapper.treeToValue(node, Asset.class), null));
+                } catch (IOException | IllegalArgumentException e) {
+                    String serial = node.hasNonNull("serialNumber") ? node.get("serialNumber").asText() : null;
+                    importer.accept(new ParsedRow(row, serialOnly(serial), "Malformed row"));
+                }
+            }
+        }
+        return importer.finish();
+    }
+
+    public BulkImportResult importCsv(InputStream in) throws IOException {
+        Importer importer = new Importer();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null) {
+                return importer.finish();
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            List<String> names = parseCsvLine(header);
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            int row = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                row++;
+                List<String> values = parseCsvLine(line);
+                Asset asset = serialOnly(column(values, columns, "serialnumber"));
+                try {
+                    asset.setSite(column(values, columns, "site"));
+                    asset.setName(column(values, columns, "name"));
+                    String type = column(values, columns, "type");
+                    asset.setType(type == null ? null : AssetType.valueOf(type.toUpperCase()));
+                    String date = column(values, columns, "purchasedate");
+                    asset.setPurchaseDate(date == null ? null : LocalDate.parse(date));
+                    String status = column(values, columns, "status");
+                    asset.setStatus(status == null ? null : AssetStatus.valueOf(status.toUpperCase()));
+                    asset.setAssignedTo(column(values, columns, "assignedto"));
+                    importer.accept(new ParsedRow(row, asset, null));
+                } catch (RuntimeException e) {
+                    importer.accept(new ParsedRow(row, asset, "Malformed row"));
+                }
+            }
+        }
+        return importer.finish();
+    }
+
+    private static Asset serialOnly(String serialNumber) {
+        Asset asset = new Asset();
+        asset.setSerialNumber(serialNumber);
+        return asset;
+    }
+
+    private static String column(List<String> values, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private record ParsedRow(int row, Asset asset, String error) {
+    }
+
+    private class Importer implements Consumer<ParsedRow> {
+        private final BulkImportResult result = new BulkImportResult();
+        private final Set<String> seenSerials = new HashSet<>();
+        private final List<ParsedRow> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        @Override
+        public void accept(ParsedRow parsed) {
+            String serial = parsed.asset().getSerialNumber();
+            if (parsed.asset().getSite() == null || parsed.asset().getSite().isBlank()) {
+                parsed.asset().setSite(Asset.DEFAULT_SITE);
+            }
+            if (parsed.error() != null) {
+                result.add(new BulkImportRowResult(parsed.row(), serial, Outcome.INVALID, parsed.error()));
+                return;
+            }
+            Set<ConstraintViolation<Asset>> violations = validator.validate(parsed.asset());
+            if (!violations.isEmpty()) {
+                String message = violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+                result.add(new BulkImportRowResult(parsed.row(), serial, Outcome.INVALID, message));
+                return;
+            }
+            if (!seenSerials.add(serial)) {
+                result.add(new BulkImportRowResult(parsed.row(), serial, Outcome.DUPLICATE,
+                        "Serial number repeated in import"));
+                return;
+            }
+            parsed.asset().setUpdatedAt(Asset.now());
+            chunk.add(parsed);
+            if (chunk.size() == CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        BulkImportResult finish() {
+            flush();
+            result.getRows().sort(Comparator.comparingInt(BulkImportRowResult::getRow));
+            return result;
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            // Serial numbers are unique across sites, so one existence query covers the whole chunk
+            List<String> serials = chunk.stream().map(r -> r.asset().getSerialNumber()).toList();
+            Set<String> existing = new HashSet<>(assetRepository.findExistingSerialNumbers(serials));
+            Map<String, List<ParsedRow>> bySite = new LinkedHashMap<>();
+            for (ParsedRow parsed : chunk) {
+                if (existing.contains(parsed.asset().getSerialNumber())) {
+                    result.add(new BulkImportRowResult(parsed.row(), parsed.asset().getSerialNumber(),
+                            Outcome.DUPLICATE, "Serial number already exists"));
+                } else {
+                    bySite.computeIfAbsent(parsed.asset().getSite(), site -> new ArrayList<>()).add(parsed);
+                }
+            }
+            bySite.forEach(this::flushSite);
+            chunk.clear();
+        }
+
+        // One batch per site, so each statement stays within one partition
+        private void flushSite(String site, List<ParsedRow> rows) {
+            List<ParsedRow> inserted = insert(rows);
+            for (ParsedRow parsed : inserted) {
+                result.add(new BulkImportRowResult(parsed.row(), parsed.asset().getSerialNumber(), Outcome.CREATED, null));
+            }
+            if (!inserted.isEmpty()) {
+                Set<String> listKeys = new HashSet<>();
+                inserted.forEach(r -> AssetCacheEvictor.addListKeys(listKeys, site, r.asset().getType(), r.asset().getStatus()));
+                cacheEvictor.listsChanged(listKeys);
+                List<SearchDocument> docs = assetRepository.findSearchDocumentsBySiteAndSerialNumberIn(site,
+                        inserted.stream().map(r -> r.asset().getSerialNumber()).toList());
+                searchIndex.indexAll(docs);
+                Map<String, Long> ids = new HashMap<>();
+                docs.forEach(d -> ids.put(d.getSerialNumber(), d.getId()));
+                for (ParsedRow parsed : inserted) {
+                    parsed.asset().setId(ids.get(parsed.asset().getSerialNumber()));
+                    parsed.asset().setVersion(0L);
+                    eventPublisher.publishEvent(AssetChangedEvent.created(parsed.asset()));
+                }
+            }
+        }
+
+        private List<ParsedRow> insert(List<ParsedRow> rows) {
+            if (rows.isEmpty()) {
+                return rows;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(tx -> jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(),
+                        (ps, parsed) -> bind(ps, parsed.asset())));
+                return rows;
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent writer took one of the serials between the check and the batch, or a row
+                // breaks another constraint; fall back to row-by-row so only the failing rows are rejected
+                List<ParsedRow> inserted = new ArrayList<>(rows.size());
+                for (ParsedRow parsed : rows) {
+                    try {
+                        transactionTemplate.executeWithoutResult(tx ->
+                                jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, parsed.asset())));
+                        inserted.add(parsed);
+                    } catch (DataIntegrityViolationException rejected) {
+                        result.add(AssetService.isSerialNumberViolation(rejected)
+                                ? new BulkImportRowResult(parsed.row(), parsed.asset().getSerialNumber(),
+                                        Outcome.DUPLICATE, "Serial number already exists")
+                                : new BulkImportRowResult(parsed.row(), parsed.asset().getSerialNumber(),
+                                        Outcome.INVALID, causeOf(rejected)));
+                    }
+                }
+                return inserted;
+            }
+        }
+    }
+
+    // The database's own reason, without the SQL statement some drivers append to it
+    private static String causeOf(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message == null ? "Rejected by the database" : message.lines().findFirst().orElse(message);
+    }
+
+    private static void bind(PreparedStatement ps, Asset asset) throws SQLException {
+        ps.setString(1, asset.getSite());
+        ps.setString(2, asset.getName());
+        ps.setString(3, asset.getType().name());
+        ps.setString(4, asset.getSerialNumber());
+        ps.setDate(5, Date.valueOf(asset.getPurchaseDate()));
+        ps.setString(6, asset.getStatus().name());
+        ps.setString(7, asset.getAssignedTo());
+        // In UTC like Hibernate's Instant mapping, so imported rows sort with the JPA-written ones
+        ps.setTimestamp(8, Timestamp.from(asset.getUpdatedAt()), Calendar.getInstance(UTC));
+    }
+}
@@ -0,0 +1,277 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.AssetFilter;
+import com.examly.springapp.dto.BulkStatusRequest;
+import com.examly.springapp.event.AssetChangedEvent;
+import com.examly.springapp.model.Asset;
+import com.examly.springapp.model.AssetLifecycleCheckpoint;
+import com.examly.springapp.model.AssetStatus;
+import com.examly.springapp.model.AssetType;
+import com.examly.springapp.ratelimit.AdaptiveConcurrencyLimiter;
+import com.examly.springapp.repository.AssetLifecycleCheckpointRepository;
+import com.examly.springapp.repository.AssetRepository;
+import com.examly.springapp.repository.AssetSpecifications;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Nightly sweep over purchase-date age. Each rule in {@code asset.lifecycle.rules} is written
+ * {@code TYPE:ACTION:AGE} (e.g. {@code HARDWARE:FLAG_REFRESH:P4Y,HARDWARE:RETIRE:P7Y}) and selects the assets of
+ * that type bought on or before today minus the age that the action has not yet been applied to. Matches are
+ * paged by id in batches of {@code asset.lifecycle.batch-size}; each batch and its checkpoint commit together,
+ * so a pass cut short by a restart or by the end of the window resumes after the last id it finished. The
+ * sweep only starts inside the configured window, pauses between batches and waits while API requests are
+ * using more than half of the adaptive concurrency limit.
+ */
+@Service
+// Eager even under lazy initialization, otherwise its @Scheduled method is never registered
+@Lazy(false)
+public class AssetLifecycleSweeper {
+
+    // Declared in the order rules run for a type: assets due for retirement are not flagged first
+    public enum Action { RETIRE, FLAG_REFRESH }
+
+    private static final Logger log = LoggerFactory.getLogger(AssetLifecycleSweeper.class);
+    private static final Set<AssetStatus> ACTIVE = AssetStatus.sourcesFor(AssetStatus.RETIRED, false);
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private AssetLifecycleCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private AssetBulkStatusService bulkStatusService;
+
+    @Autowired
+    private AssetCacheEvictor cacheEvictor;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private TaskExecutor taskExecutor;
+
+    private final TransactionTemplate transactionTemplate;
+    private final List<Rule> rules;
+    private final int batchSize;
+    private final Duration batchPause;
+    private final Duration busyPause;
+    private final LocalTime windowStart;
+    private final LocalTime windowEnd;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean stopping;
+
+    public AssetLifecycleSweeper(PlatformTransactionManager transactionManager,
+                                 @Value("${asset.lifecycle.rules:}") String rules,
+                                 @Value("${asset.lifecycle.batch-size:500}") int batchSize,
+                                 @Value("${asset.lifecycle.batch-pause:PT0.5S}") Duration batchPause,
+                                 @Value("${asset.lifecycle.busy-pause:PT5S}") Duration busyPause,
+                                 @Value("${asset.lifecycle.window-start:01:00}") LocalTime windowStart,
+                                 @Value("${asset.lifecycle.window-end:05:00}") LocalTime windowEnd) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rules = parseRules(rules);
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
+        this.busyPause = busyPause;
+        this.windowStart = windowStart;
+        this.windowEnd = windowEnd;
+    }
+
+    @Scheduled(cron = "${asset.lifecycle.cron:0 0 1 * * *}")
+    public void runNightly() {
+        if (rules.isEmpty() || !running.compareAndSet(false, true)) {
+            return;
+        }
+        // Off the scheduler thread: a pass can take hours and the other @Scheduled jobs share that thread
+        taskExecutor.execute(() -> {
+            try {
+                LocalDateTime now = LocalDateTime.now();
+                Instant deadline = windowDeadline(now);
+                if (deadline == null) {
+                    log.warn("Lifecycle sweep triggered outside its window {}-{}; skipped", windowStart, windowEnd);
+                    return;
+                }
+                log.info("Lifecycle sweep finished: {}", sweep(now.toLocalDate(), deadline));
+            } catch (RuntimeException e) {
+                log.error("Lifecycle sweep failed; the next run resumes from the last checkpoint", e);
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        stopping = true;
+    }
+
+    // Assets changed per rule; a rule already completed on this day is skipped
+    public Map<String, Integer> sweep(LocalDate today, Instant deadline) {
+        Map<String, Integer> changed = new LinkedHashMap<>();
+        for (Rule rule : rules) {
+            if (!canContinue(deadline)) {
+                break;
+            }
+            changed.put(rule.key(), sweep(rule, today, deadline));
+        }
+        return changed;
+    }
+
+    private int sweep(Rule rule, LocalDate today, Instant deadline) {
+        AssetLifecycleCheckpoint checkpoint = checkpointRepository.findById(rule.key())
+                .orElseGet(() -> new AssetLifecycleCheckpoint(rule.key()));
+        if (today.equals(checkpoint.getCompletedOn())) {
+            return 0;
+        }
+        Specification<Asset> spec = rule.matching(today);
+        int changed = 0;
+        List<Long> batch;
+        do {
+            if (!awaitCapacity(deadline)) {
+                log.info("Lifecycle rule {} paused after id {}", rule.key(), checkpoint.getLastId());
+                return changed;
+            }
+            batch = assetRepository.findIds(spec, checkpoint.getLastId(), batchSize);
+            if (!batch.isEmpty()) {
+                List<Long> ids = batch;
+                changed += transactionTemplate.execute(tx -> {
+                    int applied = rule.action() == Action.RETIRE ? retire(ids) : flagForRefresh(ids);
+                    checkpoint.advance(ids.get(ids.size() - 1));
+                    checkpointRepository.save(checkpoint);
+                    return applied;
+                });
+                if (batch.size() == batchSize && !pause(batchPause)) {
+                    return changed;
+                }
+            }
+        } while (batch.size() == batchSize);
+        checkpoint.complete(today);
+        checkpointRepository.save(checkpoint);
+        return changed;
+    }
+
+    // Same rules, locking and events as a bulk status request
+    private int retire(List<Long> ids) {
+        BulkStatusRequest request = new BulkStatusRequest();
+        request.setIds(ids);
+        request.setStatus(AssetStatus.RETIRED.name());
+        return bulkStatusService.updateStatuses(request).getUpdated();
+    }
+
+    private int flagForRefresh(List<Long> ids) {
+        List<Asset> due = assetRepository.findAllByIdForUpdate(ids).stream()
+                .filter(a -> !a.isRefreshDue() && ACTIVE.contains(a.getStatus()))
+                .toList();
+        if (due.isEmpty()) {
+            return 0;
+        }
+        Instant now = Asset.now();
+        List<Long> dueIds = due.stream().map(Asset::getId).toList();
+        assetRepository.flagForRefreshIn(dueIds, now);
+        Set<String> listKeys = new HashSet<>();
+        due.forEach(a -> AssetCacheEvictor.addListKeys(listKeys, a.getSite(), a.getType(), a.getStatus()));
+        cacheEvictor.assetsChanged(dueIds, listKeys);
+        // The UPDATE cleared the persistence context, so the loaded copies can be patched into events
+        for (Asset asset : due) {
+            asset.setRefreshDue(true);
+            asset.setVersion(asset.getVersion() + 1);
+            asset.setUpdatedAt(now);
+            eventPublisher.publishEvent(AssetChangedEvent.refreshFlagged(asset));
+        }
+        return due.size();
+    }
+
+    // Holds the next batch back while the API is busy; false once the window has closed or the app is stopping
+    private boolean awaitCapacity(Instant deadline) {
+        while (canContinue(deadline) && limiter.getInFlight() * 2 > limiter.getLimit()) {
+            if (!pause(busyPause)) {
+                return false;
+            }
+        }
+        return canContinue(deadline);
+    }
+
+    private boolean canContinue(Instant deadline) {
+        return !stopping && Instant.now().isBefore(deadline);
+    }
+
+    private static boolean pause(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // End of the window containing now, or null outside it; equal start and end mean no window
+    Instant windowDeadline(LocalDateTime now) {
+        if (windowStart.equals(windowEnd)) {
+            return Instant.MAX;
+        }
+        LocalTime time = now.toLocalTime();
+        boolean inside = windowStart.isBefore(windowEnd)
+                ? !time.isBefore(windowStart) && time.isBefore(windowEnd)
+                : !time.isBefore(windowStart) || time.isBefore(windowEnd);
+        if (!inside) {
+            return null;
+        }
+        LocalDateTime end = now.toLocalDate().atTime(windowEnd);
+        if (!end.isAfter(now)) {
+            end = end.plusDays(1);
+        }
+        return end.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    static List<Rule> parseRules(String value) {
+        List<Rule> parsed = new ArrayList<>();
+        for (String entry : value.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Lifecycle rule must be TYPE:ACTION:AGE, got " + entry.trim());
+            }
+            parsed.add(new Rule(AssetType.valueOf(parts[0].trim().toUpperCase()),
+                    Action.valueOf(parts[1].trim().toUpperCase()), Period.parse(parts[2].trim())));
+        }
+        parsed.sort(Comparator.comparing(Rule::action));
+        return List.copyOf(parsed);
+    }
+
+    record Rule(AssetType type, Action action, Period age) {
+        String key() {
+            return type + ":" + action;
+        }
+
+        // Assets the action still applies to, so a batch replayed after a crash finds nothing left to do
+        Specification<Asset> matching(LocalDate today) {
+            AssetFilter filter = AssetFilter.of(type.name(), null, null, null, today.minus(age), null);
+            Specification<Asset> spec = AssetSpecifications.matching(filter).and(AssetSpecifications.statusIn(ACTIVE));
+            return action == Action.RETIRE ? spec : spec.and(AssetSpecifications.refreshDue(false));
+        }
+    }
+}
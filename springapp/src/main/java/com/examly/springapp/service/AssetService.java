@@ -1,82 +1,366 @@
 package com.examly.springapp.service;
 
+import com.examly.springapp.dto.AssetFieldSelection;
+import com.examly.springapp.dto.AssetFilter;
+import com.examly.springapp.dto.AssetListVersion;
+import com.examly.springapp.dto.AssetPage;
+import com.examly.springapp.dto.AssetSearchResult;
+import com.examly.springapp.datasource.ReadYourWritesTracker;
 import com.examly.springapp.model.*;
 import com.examly.springapp.repository.AssetRepository;
+import com.examly.springapp.repository.AssetSpecifications;
 import com.examly.springapp.exception.*;
+import com.examly.springapp.search.AssetSearchIndex;
+import com.examly.springapp.snapshot.AssetSnapshot;
+import com.examly.springapp.event.AssetChangedEvent;
+import jakarta.persistence.EntityManager;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.time.Instant;
 import java.time.LocalDate;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 
 @Service
+@Timed(value = "asset.service", description = "Asset service method latency", histogram = true)
 public class AssetService {
 
+    static final int DEFAULT_PAGE_SIZE = 100;
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int STREAM_FETCH_SIZE = 500;
+    static final int SEARCH_CHUNK_SIZE = 1000;
+
     @Autowired
     private AssetRepository assetRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private AssetSearchIndex searchIndex;
+
+    @Autowired
+    private AssetCacheEvictor cacheEvictor;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired(required = false)
+    private AssetSnapshot snapshot;
+
+    @Autowired(required = false)
+    private ReadYourWritesTracker readYourWrites;
+
+    @Value("${asset.search.max-results:100}")
+    private int searchMaxResults;
+
     public Asset createAsset(Asset asset) {
-        // Validate serial uniqueness
-        if (assetRepository.findBySerialNumber(asset.getSerialNumber()).isPresent()) {
-            throw new DuplicateAssetException("Serial number already exists");
-        }
-        // Save asset
-        return assetRepository.save(asset);
-    }
-
-    public List<Asset> getAllAssets(String type, String status, String search) {
-        // Filtering
-        if (type != null && status != null) {
-            try {
-                AssetType assetType = AssetType.valueOf(type.toUpperCase());
-                AssetStatus assetStatus = AssetStatus.valueOf(status.toUpperCase());
-                return assetRepository.findByTypeAndStatus(assetType, assetStatus);
-            } catch (IllegalArgumentException e) {
-                return new ArrayList<>();
+        asset.setVersion(null);
+        if (asset.getSite() == null || asset.getSite().isBlank()) {
+            asset.setSite(Asset.DEFAULT_SITE);
+        }
+        Asset saved;
+        try {
+            // The unique constraint is the uniqueness check: one round-trip, and no window between check and insert
+            saved = assetRepository.saveAndFlush(asset);
+        } catch (DataIntegrityViolationException e) {
+            if (isSerialNumberViolation(e)) {
+                throw new DuplicateAssetException("Serial number already exists");
+            }
+            throw e;
+        }
+        cacheEvictor.assetCreated(saved.getId(), saved.getSite(), saved.getType(), saved.getStatus());
+        eventPublisher.publishEvent(AssetChangedEvent.created(saved));
+        return saved;
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = AssetCacheEvictor.ASSET_LISTS, key = "#filter.cacheKey()",
+            condition = "#filter.typeStatusOnly and !#root.target.bypassesCache()")
+    public List<Asset> getAllAssets(AssetFilter filter) {
+        if (snapshot != null && snapshot.canAnswer(filter)) {
+            return snapshot.query(filter);
+        }
+        if (usesSearchIndex(filter)) {
+            return searchAssets(filter).getItems();
+        }
+        return assetRepository.findAll(AssetSpecifications.matching(filter));
+    }
+
+    // Validator for conditional list GETs: one aggregate query instead of loading and serializing the rows
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = AssetCacheEvictor.ASSET_LISTS, key = "#filter.versionCacheKey()",
+            condition = "#filter.typeStatusOnly and !#root.target.bypassesCache()")
+    public AssetListVersion getListVersion(AssetFilter filter) {
+        if (snapshot != null && snapshot.canAnswer(filter)) {
+            return snapshot.listVersion(filter);
+        }
+        return assetRepository.findListVersion(AssetSpecifications.matching(filter));
+    }
+
+    private boolean usesSearchIndex(AssetFilter filter) {
+        return filter.hasSearch() && !filter.isUnsatisfiable() && searchIndex.isReady();
+    }
+
+    // Ranked candidates come from the in-memory index; the database only resolves ids and applies
+    // the remaining filters, so no LIKE scan is issued
+    @Transactional(readOnly = true)
+    public AssetSearchResult<Asset> searchAssets(AssetFilter filter) {
+        if (!usesSearchIndex(filter)) {
+            return new AssetSearchResult<>(assetRepository.findAll(AssetSpecifications.matching(filter)), false);
+        }
+        Specification<Asset> rest = AssetSpecifications.matching(filter.withoutSearch());
+        return resolveRanked(filter, ids -> {
+            Map<Long, Asset> found = new HashMap<>();
+            for (Asset asset : assetRepository.findAll(rest.and(AssetSpecifications.idIn(ids)))) {
+                found.put(asset.getId(), asset);
+            }
+            return found;
+        });
+    }
+
+    // Walks the ranked matches until one more row than max-results passes the other filters, so a capped
+    // list is flagged as truncated rather than silently cut
+    private <T> AssetSearchResult<T> resolveRanked(AssetFilter filter, Function<List<Long>, Map<Long, T>> resolver) {
+        List<Long> ranked = searchIndex.search(filter.getSearch());
+        List<T> results = new ArrayList<>();
+        int from = 0;
+        int chunkSize = searchMaxResults + 1;
+        while (from < ranked.size() && results.size() <= searchMaxResults) {
+            List<Long> chunk = ranked.subList(from, Math.min(from + chunkSize, ranked.size()));
+            Map<Long, T> found = resolver.apply(chunk);
+            for (Long id : chunk) {
+                T row = found.get(id);
+                if (row != null && results.size() <= searchMaxResults) {
+                    results.add(row);
+                }
+            }
+            from += chunk.size();
+            chunkSize = SEARCH_CHUNK_SIZE;
+        }
+        if (results.size() > searchMaxResults) {
+            return new AssetSearchResult<>(results.subList(0, searchMaxResults), true);
+        }
+        return new AssetSearchResult<>(results, false);
+    }
+
+    // Same results as getAllAssets, but only the selected columns are read and returned
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAssetFields(AssetFilter filter, AssetFieldSelection selection) {
+        if (usesSearchIndex(filter)) {
+            return searchAssetFields(filter, selection).getItems();
+        }
+        return assetRepository.findFields(AssetSpecifications.matching(filter), selection.getFields(), 0L, Limit.unlimited());
+    }
+
+    @Transactional(readOnly = true)
+    public AssetSearchResult<Map<String, Object>> searchAssetFields(AssetFilter filter, AssetFieldSelection selection) {
+        List<String> fields = selection.getFields();
+        if (!usesSearchIndex(filter)) {
+            return new AssetSearchResult<>(assetRepository.findFields(AssetSpecifications.matching(filter),
+                    fields, 0L, Limit.unlimited()), false);
+        }
+        Specification<Asset> rest = AssetSpecifications.matching(filter.withoutSearch());
+        return resolveRanked(filter, ids -> {
+            Map<Long, Map<String, Object>> found = new HashMap<>();
+            for (Map<String, Object> row : assetRepository.findFields(
+                    rest.and(AssetSpecifications.idIn(ids)), fields, 0L, Limit.unlimited())) {
+                found.put((Long) row.get("id"), row);
+            }
+            return found;
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public AssetPage<Map<String, Object>> getAssetFieldPage(AssetFilter filter, AssetFieldSelection selection,
+                                                            Long after, Integer limit) {
+        int size = pageSize(limit);
+        long from = after == null ? 0L : after;
+        List<Map<String, Object>> items;
+        if (usesSearchIndex(filter)) {
+            Specification<Asset> rest = AssetSpecifications.matching(filter.withoutSearch());
+            items = new ArrayList<>();
+            for (List<Long> chunk : searchChunks(filter, from)) {
+                items.addAll(assetRepository.findFields(rest.and(AssetSpecifications.idIn(chunk)),
+                        selection.getFields(), 0L, Limit.of(size + 1 - items.size())));
+                if (items.size() > size) {
+                    break;
+                }
             }
-        } else if (type != null) {
-            try {
-                AssetType assetType = AssetType.valueOf(type.toUpperCase());
-                return assetRepository.findByType(assetType);
-            } catch (IllegalArgumentException e) {
-                return new ArrayList<>();
+        } else {
+            items = assetRepository.findFields(AssetSpecifications.matching(filter),
+                    selection.getFields(), from, Limit.of(size + 1));
+        }
+        if (items.size() <= size) {
+            return new AssetPage<>(items, null);
+        }
+        List<Map<String, Object>> page = items.subList(0, size);
+        return new AssetPage<>(page, (Long) page.get(size - 1).get("id"));
+    }
+
+    @Transactional(readOnly = true)
+    public AssetPage<Asset> getAssetPage(AssetFilter filter, Long after, Integer limit) {
+        int size = pageSize(limit);
+        long from = after == null ? 0L : after;
+        // One extra row tells us whether another page exists without a count query
+        List<Asset> items;
+        if (usesSearchIndex(filter)) {
+            Specification<Asset> rest = AssetSpecifications.matching(filter.withoutSearch());
+            items = new ArrayList<>();
+            for (List<Long> chunk : searchChunks(filter, from)) {
+                int wanted = size + 1 - items.size();
+                items.addAll(assetRepository.findBy(rest.and(AssetSpecifications.idIn(chunk)),
+                        q -> q.sortBy(Sort.by("id")).limit(wanted).all()));
+                if (items.size() > size) {
+                    break;
+                }
             }
-        } else if (status != null) {
-            try {
-                AssetStatus assetStatus = AssetStatus.valueOf(status.toUpperCase());
-                return assetRepository.findByStatus(assetStatus);
-            } catch (IllegalArgumentException e) {
-                return new ArrayList<>();
+        } else {
+            Specification<Asset> spec = AssetSpecifications.matching(filter)
+                    .and(AssetSpecifications.idGreaterThan(from));
+            items = assetRepository.findBy(spec, q -> q.sortBy(Sort.by("id")).limit(size + 1).all());
+        }
+        if (items.size() <= size) {
+            return new AssetPage<>(items, null);
+        }
+        List<Asset> page = items.subList(0, size);
+        return new AssetPage<>(page, page.get(size - 1).getId());
+    }
+
+    // Matching ids past the cursor, in id order, cut into chunks small enough for one IN list each
+    private List<List<Long>> searchChunks(AssetFilter filter, long after) {
+        long[] ids = searchIndex.matchingIds(filter.getSearch());
+        int start = Arrays.binarySearch(ids, after);
+        start = start >= 0 ? start + 1 : -start - 1;
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = start; i < ids.length; i += SEARCH_CHUNK_SIZE) {
+            chunks.add(Arrays.stream(ids, i, Math.min(i + SEARCH_CHUNK_SIZE, ids.length)).boxed().toList());
+        }
+        return chunks;
+    }
+
+    private static int pageSize(Integer limit) {
+        return limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAssets(AssetFilter filter, Consumer<Asset> sink) {
+        if (usesSearchIndex(filter)) {
+            Specification<Asset> rest = AssetSpecifications.matching(filter.withoutSearch());
+            for (List<Long> chunk : searchChunks(filter, 0L)) {
+                for (Asset asset : assetRepository.findBy(rest.and(AssetSpecifications.idIn(chunk)),
+                        q -> q.sortBy(Sort.by("id")).all())) {
+                    sink.accept(asset);
+                    entityManager.detach(asset);
+                }
             }
-        } else if (search != null && !search.isEmpty()) {
-            return assetRepository.findByNameContainingIgnoreCaseOrSerialNumberContainingIgnoreCase(search, search);
+            return;
+        }
+        try (Stream<Asset> assets = assetRepository.stream(AssetSpecifications.matching(filter), STREAM_FETCH_SIZE)) {
+            assets.forEach(asset -> {
+                sink.accept(asset);
+                // Keep the persistence context from growing with the result set
+                entityManager.detach(asset);
+            });
         }
-        return assetRepository.findAll();
     }
 
-    public Asset getAssetById(Long id) {
-        return assetRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Asset not found"));
+    // The id cache is shared by all sites: site only narrows the lookup on a miss, so callers passing one
+    // must still check it against the returned asset
+    @Cacheable(cacheNames = AssetCacheEvictor.ASSETS, key = "#id", condition = "!#root.target.bypassesCache()")
+    public Asset getAssetById(Long id, String site) {
+        return findAsset(id, site);
+    }
+
+    // A client pinned to the primary skips the shared caches both ways: another client may have refilled them
+    // from the lagging replica since this client's write, and its primary reads must not outlive its window
+    public boolean bypassesCache() {
+        return readYourWrites != null && readYourWrites.isPinnedToPrimary();
+    }
+
+    private Asset findAsset(Long id, String site) {
+        Optional<Asset> asset = site == null || site.isBlank()
+                ? assetRepository.findById(id)
+                : assetRepository.findBySiteAndId(site, id);
+        return asset.orElseThrow(() -> new ResourceNotFoundException("Asset not found"));
     }
 
     @Transactional
     public Asset updateAssetStatus(Long id, String statusStr, String assignedTo) {
-        Asset asset = getAssetById(id);
-        AssetStatus newStatus;
+        return updateAssetStatus(id, null, statusStr, assignedTo, null, false);
+    }
+
+    // The row is changed with one conditional UPDATE on (site, id, status, version), so a concurrent writer
+    // that got there first makes this call fail with a conflict instead of being overwritten
+    @Transactional
+    public Asset updateAssetStatus(Long id, String site, String statusStr, String assignedTo, Long expectedVersion,
+                                   boolean reassign) {
+        Asset asset = findAsset(id, site);
+        AssetStatus oldStatus = asset.getStatus();
+        String oldAssignee = asset.getAssignedTo();
+        AssetStatus newStatus = parseStatus(statusStr);
+        String newAssignee = assigneeFor(newStatus, assignedTo);
+        if (expectedVersion != null && !expectedVersion.equals(asset.getVersion())) {
+            throw new AssetConflictException("Asset was modified by another request");
+        }
+        if (!oldStatus.canTransitionTo(newStatus, reassign)) {
+            throw new AssetConflictException(oldStatus == AssetStatus.ASSIGNED && newStatus == AssetStatus.ASSIGNED
+                    ? "Asset is already assigned; set reassign to move it to another user"
+                    : "Cannot change status from " + oldStatus + " to " + newStatus);
+        }
+        Instant now = Asset.now();
+        int updated = assetRepository.transitionStatus(asset.getSite(), id, oldStatus, asset.getVersion(), newStatus,
+                newAssignee, now);
+        if (updated == 0) {
+            throw new AssetConflictException("Asset was modified by another request");
+        }
+        // The bulk UPDATE cleared the persistence context, so this copy is detached and safe to patch
+        asset.setStatus(newStatus);
+        asset.setAssignedTo(newAssignee);
+        asset.setVersion(asset.getVersion() + 1);
+        asset.setUpdatedAt(now);
+        cacheEvictor.statusChanged(id, asset.getSite(), asset.getType(), oldStatus, newStatus);
+        eventPublisher.publishEvent(AssetChangedEvent.statusChanged(asset, oldStatus, oldAssignee));
+        return asset;
+    }
+
+    static boolean isSerialNumberViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT).contains(Asset.SERIAL_NUMBER_CONSTRAINT);
+            }
+        }
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(Asset.SERIAL_NUMBER_CONSTRAINT);
+    }
+
+    static AssetStatus parseStatus(String statusStr) {
         try {
-            newStatus = AssetStatus.valueOf(statusStr.toUpperCase());
+            return AssetStatus.valueOf(statusStr.toUpperCase());
         } catch (Exception e) {
             throw new IllegalArgumentException("Invalid status value");
         }
-        if (newStatus == AssetStatus.ASSIGNED && (assignedTo == null || assignedTo.trim().isEmpty())) {
-            throw new IllegalArgumentException("assignedTo required when status is ASSIGNED");
+    }
+
+    static String assigneeFor(AssetStatus newStatus, String assignedTo) {
+        if (newStatus != AssetStatus.ASSIGNED) {
+            return null;
         }
-        asset.setStatus(newStatus);
-        if (newStatus == AssetStatus.ASSIGNED) {
-            asset.setAssignedTo(assignedTo);
-        } else {
-            asset.setAssignedTo(null);
+        if (assignedTo == null || assignedTo.trim().isEmpty()) {
+            throw new IllegalArgumentException("assignedTo required when status is ASSIGNED");
         }
-        return assetRepository.save(asset);
+        return assignedTo;
     }
 }
@@ -0,0 +1,211 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.AssetStats;
+import com.examly.springapp.event.AssetChangedEvent;
+import com.examly.springapp.model.AssetStatus;
+import com.examly.springapp.model.AssetType;
+import com.examly.springapp.repository.AssetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory inventory counts per type x status, assignee and purchase year. The counters are built
+ * from GROUP BY queries once the application is ready, moved by committed create/status events, and
+ * periodically rebuilt from the primary database to correct any drift (e.g. writes that bypassed the
+ * service). A replica is never used: its lag would overwrite correct counters with stale ones.
+ */
+@Service
+// Eager even under lazy initialization, otherwise its @Scheduled method is never registered
+@Lazy(false)
+public class AssetStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(AssetStatsService.class);
+    private static final int STATUSES = AssetStatus.values().length;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private TaskExecutor taskExecutor;
+
+    // Read-write on purpose: with replica routing, only read-only transactions go to the replica
+    private final TransactionTemplate primaryReads;
+
+    private volatile Counters counters;
+
+    // Events committed while a rebuild is reading, replayed onto the rebuilt counters once they are swapped in.
+    // Non-null only during a rebuild; guarded by swapLock
+    private final Object swapLock = new Object();
+    private List<AssetChangedEvent> pending;
+
+    public AssetStatsService(PlatformTransactionManager transactionManager) {
+        this.primaryReads = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        taskExecutor.execute(this::rebuild);
+    }
+
+    public AssetStats getStats() {
+        Counters current = counters;
+        if (current == null) {
+            current = rebuild();
+        }
+        return current.snapshot();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssetChanged(AssetChangedEvent event) {
+        Counters current;
+        synchronized (swapLock) {
+            if (pending != null) {
+                pending.add(event);
+            }
+            current = counters;
+        }
+        if (current != null) {
+            current.apply(event);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${asset.stats.reconcile-interval:PT5M}",
+            initialDelayString = "${asset.stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        rebuild();
+    }
+
+    private synchronized Counters rebuild() {
+        Counters fresh = new Counters();
+        // Buffering starts before the counts are read, so an event committing during the reads is never lost.
+        // One committed just before the reads but delivered just after is counted twice until the next reconcile
+        synchronized (swapLock) {
+            pending = new ArrayList<>();
+        }
+        try {
+            readCounts(fresh);
+        } catch (RuntimeException e) {
+            synchronized (swapLock) {
+                pending = null;
+            }
+            throw e;
+        }
+        Counters previous;
+        synchronized (swapLock) {
+            pending.forEach(fresh::apply);
+            pending = null;
+            previous = counters;
+            counters = fresh;
+        }
+        if (previous != null && previous.total() != fresh.total()) {
+            log.info("Asset stats drifted by {}; replaced from database", fresh.total() - previous.total());
+        }
+        return fresh;
+    }
+
+    private void readCounts(Counters fresh) {
+        primaryReads.executeWithoutResult(tx -> {
+            for (Object[] row : assetRepository.countByTypeAndStatus()) {
+                fresh.add((AssetType) row[0], (AssetStatus) row[1], (Long) row[2]);
+            }
+            for (Object[] row : assetRepository.countByAssignee()) {
+                fresh.addAssignee((String) row[0], (Long) row[1]);
+            }
+            for (Object[] row : assetRepository.countByPurchaseYear()) {
+                fresh.addYear(((Number) row[0]).intValue(), (Long) row[1]);
+            }
+        });
+    }
+
+    static final class Counters {
+        private final EnumMap<AssetType, AtomicLongArray> byTypeAndStatus = new EnumMap<>(AssetType.class);
+        private final ConcurrentHashMap<String, LongAdder> byAssignee = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<Integer, LongAdder> byYear = new ConcurrentHashMap<>();
+
+        Counters() {
+            for (AssetType type : AssetType.values()) {
+                byTypeAndStatus.put(type, new AtomicLongArray(STATUSES));
+            }
+        }
+
+        void apply(AssetChangedEvent event) {
+            if (event.getKind() == AssetChangedEvent.Kind.CREATED) {
+                add(event.getType(), event.getNewStatus(), 1);
+                addAssignee(event.getNewAssignee(), 1);
+                addYear(event.getPurchaseDate().getYear(), 1);
+            } else {
+                add(event.getType(), event.getOldStatus(), -1);
+                add(event.getType(), event.getNewStatus(), 1);
+                addAssignee(event.getOldAssignee(), -1);
+                addAssignee(event.getNewAssignee(), 1);
+            }
+        }
+
+        void add(AssetType type, AssetStatus status, long delta) {
+            byTypeAndStatus.get(type).addAndGet(status.ordinal(), delta);
+        }
+
+        void addAssignee(String assignee, long delta) {
+            if (assignee != null) {
+                byAssignee.computeIfAbsent(assignee, a -> new LongAdder()).add(delta);
+            }
+        }
+
+        void addYear(int year, long delta) {
+            byYear.computeIfAbsent(year, y -> new LongAdder()).add(delta);
+        }
+
+        long total() {
+            long total = 0;
+            for (AtomicLongArray counts : byTypeAndStatus.values()) {
+                for (int i = 0; i < STATUSES; i++) {
+                    total += counts.get(i);
+                }
+            }
+            return total;
+        }
+
+        AssetStats snapshot() {
+            Map<AssetType, Map<AssetStatus, Long>> typeStatus = new EnumMap<>(AssetType.class);
+            byTypeAndStatus.forEach((type, counts) -> {
+                Map<AssetStatus, Long> perStatus = new EnumMap<>(AssetStatus.class);
+                for (AssetStatus status : AssetStatus.values()) {
+                    perStatus.put(status, counts.get(status.ordinal()));
+                }
+                typeStatus.put(type, perStatus);
+            });
+            Map<String, Long> assignees = new TreeMap<>();
+            byAssignee.forEach((assignee, count) -> {
+                long value = count.sum();
+                if (value > 0) {
+                    assignees.put(assignee, value);
+                }
+            });
+            Map<Integer, Long> years = new TreeMap<>();
+            byYear.forEach((year, count) -> {
+                long value = count.sum();
+                if (value > 0) {
+                    years.put(year, value);
+                }
+            });
+            return new AssetStats(total(), typeStatus, assignees, years);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.exception.AssetConflictException;
+import com.examly.springapp.exception.DuplicateAssetException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the outcome of requests sent with an {@code Idempotency-Key} header for
+ * {@code asset.idempotency.ttl}. Keys are scoped to the client that sent them, so two clients that
+ * happen to pick the same key never see each other's outcome. A retry with the same key and payload
+ * gets the first outcome back
+ * without touching the database; a retry that arrives while the first attempt is still running waits
+ * for it. Only deterministic failures are remembered, so a retry after a transient error runs again.
+ */
+@Component
+public class IdempotencyStore {
+
+    private final Cache<Key, Entry> entries;
+    private final Duration waitTimeout;
+
+    public IdempotencyStore(@Value("${asset.idempotency.max-keys:100000}") long maxKeys,
+                            @Value("${asset.idempotency.ttl:PT1H}") Duration ttl,
+                            @Value("${asset.idempotency.wait-timeout:PT10S}") Duration waitTimeout) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(ttl)
+                .build();
+        this.waitTimeout = waitTimeout;
+    }
+
+    // fingerprint identifies the request payload, so a key reused for a different request is rejected
+    public <T> T execute(String client, String idempotencyKey, String fingerprint, Supplier<T> action) {
+        Key key = new Key(client, idempotencyKey);
+        Entry entry = new Entry(fingerprint, new CompletableFuture<>());
+        Entry existing = entries.asMap().putIfAbsent(key, entry);
+        if (existing != null) {
+            return await(existing, fingerprint);
+        }
+        try {
+            T result = action.get();
+            entry.outcome().complete(result);
+            return result;
+        } catch (DuplicateAssetException | IllegalArgumentException e) {
+            entry.outcome().completeExceptionally(e);
+            throw e;
+        } catch (RuntimeException e) {
+            entries.asMap().remove(key, entry);
+            entry.outcome().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T await(Entry existing, String fingerprint) {
+        if (!existing.fingerprint().equals(fingerprint)) {
+            throw new AssetConflictException("Idempotency-Key was already used for a different request");
+        }
+        try {
+            return (T) existing.outcome().get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new AssetConflictException("A request with this Idempotency-Key is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssetConflictException("A request with this Idempotency-Key is still in progress");
+        }
+    }
+
+    private record Key(String client, String idempotencyKey) {
+    }
+
+    private record Entry(String fingerprint, CompletableFuture<Object> outcome) {
+    }
+}
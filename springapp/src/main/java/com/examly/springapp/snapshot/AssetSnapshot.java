@@ -0,0 +1,354 @@
+package com.examly.springapp.snapshot;
+
+import com.examly.springapp.dto.AssetFilter;
+import com.examly.springapp.dto.AssetListVersion;
+import com.examly.springapp.event.AssetChangedEvent;
+import com.examly.springapp.model.Asset;
+import com.examly.springapp.model.AssetStatus;
+import com.examly.springapp.model.AssetType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+
+/**
+ * Column-wise copy of the asset table for answering list filters from memory.
+ * <p>
+ * Each attribute lives in its own primitive array indexed by row: ids as {@code long}, purchase dates
+ * as epoch days, type and status as enum ordinals in {@code byte}s and assignees as codes into a
+ * string dictionary. One {@link BitSet} per site, per type and per status turns the site/type/status part
+ * of a filter into a bitwise AND; assignee and date bounds are then checked only on the surviving rows. Committed
+ * creates, status changes and refresh flags are applied from {@link AssetChangedEvent}s. Enabled with
+ * {@code asset.snapshot.enabled=true}; until the initial load finishes, queries go to the database.
+ * Writes from other instances or outside the application produce no events here, so
+ * {@link AssetSnapshotLoader} compares the snapshot with the database periodically and reloads it.
+ * A reload fills a new set of columns while the current one keeps answering, then swaps it in.
+ */
+@Component
+@ConditionalOnProperty(name = "asset.snapshot.enabled", havingValue = "true")
+public class AssetSnapshot {
+
+    private static final int NO_ASSIGNEE = -1;
+    private static final AssetType[] TYPES = AssetType.values();
+    private static final AssetStatus[] STATUSES = AssetStatus.values();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Changes committed while a load is running, replayed over the loaded rows before the swap
+    private final List<AssetChangedEvent> pending = new ArrayList<>();
+    private Columns current = new Columns();
+    // Only the loading thread fills it; it is published by the swap under the write lock
+    private Columns loading;
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return current.size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Search is answered by the trigram index, so only structured filters are served here
+    public boolean canAnswer(AssetFilter filter) {
+        return ready && !filter.hasSearch();
+    }
+
+    public List<Asset> query(AssetFilter filter) {
+        lock.readLock().lock();
+        try {
+            return current.query(filter);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // The same validator the database would compute for the list, without building any Asset
+    public AssetListVersion listVersion(AssetFilter filter) {
+        lock.readLock().lock();
+        try {
+            return current.listVersion(filter);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Starts collecting a new copy; until finishLoad the current one, if any, keeps answering
+    void beginLoad() {
+        lock.writeLock().lock();
+        try {
+            pending.clear();
+            loading = new Columns();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void loadAll(Collection<Asset> assets) {
+        for (Asset asset : assets) {
+            loading.upsert(asset.getId(), asset.getSite(), asset.getName(), asset.getType(), asset.getSerialNumber(),
+                    asset.getPurchaseDate(), asset.getStatus(), asset.getAssignedTo(), asset.isRefreshDue(),
+                    asset.getVersion(), asset.getUpdatedAt());
+        }
+    }
+
+    void finishLoad() {
+        lock.writeLock().lock();
+        try {
+            // Loaded pages may predate these commits; every event carries the full new state, so replaying is safe
+            pending.forEach(loading::apply);
+            pending.clear();
+            current = loading;
+            loading = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Drops a load that failed part way; the current copy stays as it was
+    void cancelLoad() {
+        lock.writeLock().lock();
+        try {
+            pending.clear();
+            loading = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssetChanged(AssetChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (loading != null) {
+                pending.add(event);
+            }
+            current.apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static long micros(Instant instant) {
+        return instant == null ? 0L : ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+    }
+
+    private static final class Columns {
+        private final Map<Long, Integer> rowsById = new HashMap<>();
+        private final Map<String, Integer> assigneeCodes = new HashMap<>();
+        private final List<String> assignees = new ArrayList<>();
+        private final BitSet[] typeRows = new BitSet[TYPES.length];
+        private final BitSet[] statusRows = new BitSet[STATUSES.length];
+        private final Map<String, BitSet> siteRows = new HashMap<>();
+        private final BitSet refreshDueRows = new BitSet();
+
+        private long[] ids = new long[1024];
+        private long[] versions = new long[1024];
+        private long[] updatedMicros = new long[1024];
+        private int[] purchaseDays = new int[1024];
+        private byte[] types = new byte[1024];
+        private byte[] statuses = new byte[1024];
+        private int[] assigneeRefs = new int[1024];
+        private String[] names = new String[1024];
+        private String[] serialNumbers = new String[1024];
+        private String[] sites = new String[1024];
+        private int size;
+        private boolean sorted = true;
+
+        Columns() {
+            for (int i = 0; i < typeRows.length; i++) {
+                typeRows[i] = new BitSet();
+            }
+            for (int i = 0; i < statusRows.length; i++) {
+                statusRows[i] = new BitSet();
+            }
+        }
+
+        List<Asset> query(AssetFilter filter) {
+            List<Asset> result = new ArrayList<>();
+            forEachMatch(filter, row -> result.add(toAsset(row)));
+            if (!sorted) {
+                result.sort(Comparator.comparing(Asset::getId));
+            }
+            return result;
+        }
+
+        AssetListVersion listVersion(AssetFilter filter) {
+            long[] countAndMax = new long[2];
+            forEachMatch(filter, row -> {
+                countAndMax[0]++;
+                countAndMax[1] = Math.max(countAndMax[1], updatedMicros[row]);
+            });
+            return new AssetListVersion(countAndMax[0],
+                    countAndMax[0] == 0 ? null : Instant.EPOCH.plus(countAndMax[1], ChronoUnit.MICROS));
+        }
+
+        private void forEachMatch(AssetFilter filter, IntConsumer action) {
+            if (filter.isUnsatisfiable()) {
+                return;
+            }
+            BitSet candidates = candidates(filter);
+            int assignee = NO_ASSIGNEE;
+            if (filter.getAssignedTo() != null) {
+                Integer code = assigneeCodes.get(filter.getAssignedTo());
+                if (code == null) {
+                    return;
+                }
+                assignee = code;
+            }
+            int fromDay = filter.getPurchasedFrom() == null
+                    ? Integer.MIN_VALUE : (int) filter.getPurchasedFrom().toEpochDay();
+            int toDay = filter.getPurchasedTo() == null
+                    ? Integer.MAX_VALUE : (int) filter.getPurchasedTo().toEpochDay();
+            for (int row = candidates.nextSetBit(0); row >= 0; row = candidates.nextSetBit(row + 1)) {
+                if ((assignee == NO_ASSIGNEE || assigneeRefs[row] == assignee)
+                        && purchaseDays[row] >= fromDay && purchaseDays[row] <= toDay) {
+                    action.accept(row);
+                }
+            }
+        }
+
+        private BitSet candidates(AssetFilter filter) {
+            BitSet candidates;
+            if (filter.getSite() != null) {
+                BitSet site = siteRows.get(filter.getSite());
+                if (site == null) {
+                    return new BitSet();
+                }
+                candidates = (BitSet) site.clone();
+                if (filter.getType() != null) {
+                    candidates.and(typeRows[filter.getType().ordinal()]);
+                }
+                if (filter.getStatus() != null) {
+                    candidates.and(statusRows[filter.getStatus().ordinal()]);
+                }
+            } else if (filter.getType() != null) {
+                candidates = (BitSet) typeRows[filter.getType().ordinal()].clone();
+                if (filter.getStatus() != null) {
+                    candidates.and(statusRows[filter.getStatus().ordinal()]);
+                }
+            } else if (filter.getStatus() != null) {
+                candidates = (BitSet) statusRows[filter.getStatus().ordinal()].clone();
+            } else {
+                candidates = new BitSet(size);
+                candidates.set(0, size);
+            }
+            return candidates;
+        }
+
+        private Asset toAsset(int row) {
+            Asset asset = new Asset();
+            asset.setId(ids[row]);
+            asset.setSite(sites[row]);
+            asset.setName(names[row]);
+            asset.setType(TYPES[types[row]]);
+            asset.setSerialNumber(serialNumbers[row]);
+            asset.setPurchaseDate(LocalDate.ofEpochDay(purchaseDays[row]));
+            asset.setStatus(STATUSES[statuses[row]]);
+            asset.setAssignedTo(assigneeRefs[row] == NO_ASSIGNEE ? null : assignees.get(assigneeRefs[row]));
+            asset.setRefreshDue(refreshDueRows.get(row));
+            asset.setVersion(versions[row]);
+            asset.setUpdatedAt(Instant.EPOCH.plus(updatedMicros[row], ChronoUnit.MICROS));
+            return asset;
+        }
+
+        void apply(AssetChangedEvent event) {
+            Integer row = rowsById.get(event.getAssetId());
+            if (event.getKind() == AssetChangedEvent.Kind.CREATED || row == null) {
+                upsert(event.getAssetId(), event.getSite(), event.getName(), event.getType(), event.getSerialNumber(),
+                        event.getPurchaseDate(), event.getNewStatus(), event.getNewAssignee(), event.isRefreshDue(),
+                        event.getVersion(), event.getUpdatedAt());
+                return;
+            }
+            // Never move a row backwards if an older event is replayed after a newer load
+            if (event.getVersion() != null && event.getVersion() < versions[row]) {
+                return;
+            }
+            setStatus(row, event.getNewStatus());
+            assigneeRefs[row] = code(event.getNewAssignee());
+            refreshDueRows.set(row, event.isRefreshDue());
+            versions[row] = event.getVersion() == null ? versions[row] : event.getVersion();
+            updatedMicros[row] = micros(event.getUpdatedAt());
+        }
+
+        void upsert(long id, String site, String name, AssetType type, String serialNumber, LocalDate purchaseDate,
+                    AssetStatus status, String assignee, boolean refreshDue, Long version, Instant updatedAt) {
+            Integer existing = rowsById.get(id);
+            int row;
+            if (existing != null) {
+                row = existing;
+                if (version != null && version < versions[row]) {
+                    return;
+                }
+                typeRows[types[row]].clear(row);
+                siteRows.get(sites[row]).clear(row);
+            } else {
+                row = size++;
+                ensureCapacity(size);
+                rowsById.put(id, row);
+                sorted &= row == 0 || ids[row - 1] < id;
+                statuses[row] = -1;
+            }
+            ids[row] = id;
+            sites[row] = site;
+            siteRows.computeIfAbsent(site, s -> new BitSet()).set(row);
+            names[row] = name;
+            serialNumbers[row] = serialNumber;
+            purchaseDays[row] = (int) purchaseDate.toEpochDay();
+            types[row] = (byte) type.ordinal();
+            typeRows[type.ordinal()].set(row);
+            setStatus(row, status);
+            assigneeRefs[row] = code(assignee);
+            refreshDueRows.set(row, refreshDue);
+            versions[row] = version == null ? 0L : version;
+            updatedMicros[row] = micros(updatedAt);
+        }
+
+        private void setStatus(int row, AssetStatus status) {
+            if (statuses[row] >= 0) {
+                statusRows[statuses[row]].clear(row);
+            }
+            statuses[row] = (byte) status.ordinal();
+            statusRows[status.ordinal()].set(row);
+        }
+
+        private int code(String assignee) {
+            if (assignee == null) {
+                return NO_ASSIGNEE;
+            }
+            return assigneeCodes.computeIfAbsent(assignee, a -> {
+                assignees.add(a);
+                return assignees.size() - 1;
+            });
+        }
+
+        private void ensureCapacity(int required) {
+            if (required <= ids.length) {
+                return;
+            }
+            int capacity = Math.max(required, ids.length * 2);
+            ids = Arrays.copyOf(ids, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            updatedMicros = Arrays.copyOf(updatedMicros, capacity);
+            purchaseDays = Arrays.copyOf(purchaseDays, capacity);
+            types = Arrays.copyOf(types, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            assigneeRefs = Arrays.copyOf(assigneeRefs, capacity);
+            names = Arrays.copyOf(names, capacity);
+            serialNumbers = Arrays.copyOf(serialNumbers, capacity);
+            sites = Arrays.copyOf(sites, capacity);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.examly.springapp.snapshot;
+
+import com.examly.springapp.dto.AssetFilter;
+import com.examly.springapp.model.Asset;
+import com.examly.springapp.repository.AssetRepository;
+import com.examly.springapp.repository.AssetSpecifications;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Loads the snapshot after startup and keeps it honest: every {@code asset.snapshot.verify-interval}
+ * the snapshot's row count and latest update are compared with the database, and a mismatch that is
+ * still there after {@code asset.snapshot.verify-settle} (so in-flight commits are not mistaken for
+ * drift) reloads it. Writes that leave both unchanged, such as SQL that does not touch
+ * {@code updated_at}, are picked up by the full reload every {@code asset.snapshot.rebuild-interval}.
+ * Loads and checks both read the primary, so replica lag can neither be loaded nor look like drift.
+ */
+@Component
+@ConditionalOnProperty(name = "asset.snapshot.enabled", havingValue = "true")
+// Eager even under lazy initialization, otherwise its @Scheduled methods are never registered
+@Lazy(false)
+public class AssetSnapshotLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(AssetSnapshotLoader.class);
+    private static final int PAGE_SIZE = 5000;
+    private static final AssetFilter ALL = AssetFilter.of(null, null, null);
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private AssetSnapshot snapshot;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private TaskExecutor taskExecutor;
+
+    @Value("${asset.snapshot.verify-settle:PT1S}")
+    private Duration verifySettle;
+
+    private final AtomicBoolean building = new AtomicBoolean();
+    // Read-write on purpose: with replica routing, only read-only transactions go to the replica
+    private final TransactionTemplate primaryReads;
+
+    public AssetSnapshotLoader(PlatformTransactionManager transactionManager) {
+        this.primaryReads = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${asset.snapshot.verify-interval:PT1M}",
+            initialDelayString = "${asset.snapshot.verify-interval:PT1M}")
+    public void verify() throws InterruptedException {
+        if (!snapshot.isReady() || building.get() || matchesDatabase()) {
+            return;
+        }
+        Thread.sleep(verifySettle.toMillis());
+        if (!building.get() && !matchesDatabase()) {
+            log.info("Asset snapshot differs from the database; reloading");
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${asset.snapshot.rebuild-interval:PT1H}",
+            initialDelayString = "${asset.snapshot.rebuild-interval:PT1H}")
+    public void rebuild() {
+        if (!building.compareAndSet(false, true)) {
+            return;
+        }
+        taskExecutor.execute(() -> {
+            try {
+                build();
+            } catch (RuntimeException e) {
+                snapshot.cancelLoad();
+                log.warn("Asset snapshot reload failed; keeping the previous copy", e);
+            } finally {
+                building.set(false);
+            }
+        });
+    }
+
+    private boolean matchesDatabase() {
+        String inMemory = snapshot.listVersion(ALL).eTag();
+        String stored = primaryReads.execute(tx ->
+                assetRepository.findListVersion(AssetSpecifications.matching(ALL)).eTag());
+        return inMemory.equals(stored);
+    }
+
+    void build() {
+        long started = System.currentTimeMillis();
+        snapshot.beginLoad();
+        long after = 0L;
+        List<Asset> page;
+        do {
+            long from = after;
+            page = primaryReads.execute(tx -> assetRepository.findBy(AssetSpecifications.idGreaterThan(from),
+                    q -> q.sortBy(Sort.by("id")).limit(PAGE_SIZE).all()));
+            snapshot.loadAll(page);
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == PAGE_SIZE);
+        snapshot.finishLoad();
+        log.info("Asset snapshot loaded with {} assets in {} ms", snapshot.size(), System.currentTimeMillis() - started);
+    }
+}
@@ -0,0 +1,25 @@
+-- Optimistic locking; existing rows start at version 0
+ALTER TABLE asset
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0,
+    ADD INDEX idx_asset_type_status (type, status),
+    ADD INDEX idx_asset_status_assigned_to (status, assigned_to),
+    ADD INDEX idx_asset_purchase_date (purchase_date);
+
+ALTER TABLE asset ALTER COLUMN version DROP DEFAULT;
+
+CREATE TABLE asset_event (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    asset_id BIGINT NOT NULL,
+    serial_number VARCHAR(255),
+    kind ENUM('CREATED', 'STATUS_CHANGED') NOT NULL,
+    old_status ENUM('AVAILABLE', 'ASSIGNED', 'UNDER_MAINTENANCE', 'RETIRED'),
+    new_status ENUM('AVAILABLE', 'ASSIGNED', 'UNDER_MAINTENANCE', 'RETIRED'),
+    old_assignee VARCHAR(255),
+    new_assignee VARCHAR(255),
+    occurred_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_asset_event_asset_time ON asset_event (asset_id, occurred_at);
+CREATE INDEX idx_asset_event_new_assignee_time ON asset_event (new_assignee, occurred_at);
+CREATE INDEX idx_asset_event_old_assignee_time ON asset_event (old_assignee, occurred_at);
@@ -0,0 +1,12 @@
+-- The schema ddl-auto=create produced before the migrations existed; such databases are baselined here
+CREATE TABLE asset (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255),
+    type ENUM('HARDWARE', 'SOFTWARE', 'PERIPHERAL'),
+    serial_number VARCHAR(255),
+    purchase_date DATE,
+    status ENUM('AVAILABLE', 'ASSIGNED', 'UNDER_MAINTENANCE', 'RETIRED'),
+    assigned_to VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_asset_serial_number UNIQUE (serial_number)
+) ENGINE = InnoDB;
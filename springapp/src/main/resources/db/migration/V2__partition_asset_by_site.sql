@@ -0,0 +1,31 @@
+-- Every asset belongs to a site. MySQL requires each unique key, the primary key included, to contain
+-- the partitioning column, so the primary key becomes (id, site) and serial numbers are unique per site.
+-- A baselined database carries the serial number key under the name Hibernate generated for it
+SET @serial_key = (SELECT index_name FROM information_schema.statistics
+                   WHERE table_schema = DATABASE() AND table_name = 'asset'
+                     AND column_name = 'serial_number' AND non_unique = 0
+                   LIMIT 1);
+SET @drop_serial_key = IF(@serial_key IS NULL, 'DO 0',
+                          CONCAT('ALTER TABLE asset DROP INDEX `', @serial_key, '`'));
+PREPARE drop_serial_key FROM @drop_serial_key;
+EXECUTE drop_serial_key;
+DEALLOCATE PREPARE drop_serial_key;
+
+ALTER TABLE asset
+    ADD COLUMN site VARCHAR(32) NOT NULL DEFAULT 'default' AFTER id,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, site),
+    ADD CONSTRAINT uk_asset_site_serial_number UNIQUE (site, serial_number),
+    DROP INDEX idx_asset_type_status,
+    DROP INDEX idx_asset_status_assigned_to,
+    DROP INDEX idx_asset_purchase_date,
+    ADD INDEX idx_asset_site_type_status (site, type, status),
+    ADD INDEX idx_asset_site_status_assigned_to (site, status, assigned_to),
+    ADD INDEX idx_asset_site_purchase_date (site, purchase_date);
+
+ALTER TABLE asset ALTER COLUMN site DROP DEFAULT;
+
+-- KEY partitioning hashes the site, so "site = ?" prunes reads, row locks and bulk updates to a single
+-- partition without a per-site partition list to maintain. 64 partitions leave room beyond the current
+-- 40 sites; two sites sharing a partition only costs pruning precision, not correctness.
+ALTER TABLE asset PARTITION BY KEY (site) PARTITIONS 64;
@@ -0,0 +1,7 @@
+-- Maintained by every write path; rows that predate it start at the migration time
+ALTER TABLE asset
+    ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    DROP INDEX idx_asset_site_type_status,
+    ADD INDEX idx_asset_site_type_status (site, type, status, updated_at);
+
+ALTER TABLE asset ALTER COLUMN updated_at DROP DEFAULT;
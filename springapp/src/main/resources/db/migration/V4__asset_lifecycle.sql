@@ -0,0 +1,12 @@
+-- Set by the lifecycle sweep; existing rows start unflagged
+ALTER TABLE asset ADD COLUMN refresh_due BOOLEAN NOT NULL DEFAULT FALSE;
+
+ALTER TABLE asset_event MODIFY COLUMN kind ENUM('CREATED', 'STATUS_CHANGED', 'REFRESH_FLAGGED') NOT NULL;
+
+CREATE TABLE asset_lifecycle_checkpoint (
+    rule_key VARCHAR(64) NOT NULL,
+    last_id BIGINT NOT NULL,
+    completed_on DATE,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (rule_key)
+) ENGINE = InnoDB;
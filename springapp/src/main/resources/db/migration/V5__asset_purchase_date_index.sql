@@ -0,0 +1,3 @@
+-- V2 replaced the global purchase_date index with a site-prefixed one. Date ranges without a site (list
+-- filters, the lifecycle sweep) need it back, otherwise they scan every partition
+ALTER TABLE asset ADD INDEX idx_asset_purchase_date (purchase_date);
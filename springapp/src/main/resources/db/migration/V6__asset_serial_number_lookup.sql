@@ -0,0 +1,29 @@
+-- Serial numbers are unique across sites, but a unique key on the partitioned asset table must contain
+-- the site. This unpartitioned table holds the global key instead, kept in step by triggers, so a
+-- duplicate still fails the INSERT with uk_asset_serial_number. Creating triggers with binary logging
+-- on needs TRIGGER and, unless log_bin_trust_function_creators is set, SUPER.
+CREATE TABLE asset_serial_number (
+    asset_id BIGINT NOT NULL,
+    serial_number VARCHAR(255) NOT NULL,
+    PRIMARY KEY (asset_id),
+    CONSTRAINT uk_asset_serial_number UNIQUE (serial_number)
+) ENGINE = InnoDB;
+
+-- Fails if V2 let two sites share a serial number; those rows have to be resolved by hand first
+INSERT INTO asset_serial_number (asset_id, serial_number)
+SELECT id, serial_number FROM asset;
+
+CREATE TRIGGER asset_serial_number_insert AFTER INSERT ON asset FOR EACH ROW
+    INSERT INTO asset_serial_number (asset_id, serial_number) VALUES (NEW.id, NEW.serial_number);
+
+CREATE TRIGGER asset_serial_number_update AFTER UPDATE ON asset FOR EACH ROW
+    UPDATE asset_serial_number SET serial_number = NEW.serial_number
+    WHERE asset_id = NEW.id AND serial_number <> NEW.serial_number;
+
+CREATE TRIGGER asset_serial_number_delete AFTER DELETE ON asset FOR EACH ROW
+    DELETE FROM asset_serial_number WHERE asset_id = OLD.id;
+
+-- The site-scoped key is redundant now; serial number lookups keep an index
+ALTER TABLE asset
+    DROP INDEX uk_asset_site_serial_number,
+    ADD INDEX idx_asset_serial_number (serial_number);
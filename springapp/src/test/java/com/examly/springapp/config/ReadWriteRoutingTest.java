@@ -0,0 +1,160 @@
+package com.examly.springapp.config;
+
+import com.examly.springapp.model.Asset;
+import com.examly.springapp.model.AssetStatus;
+import com.examly.springapp.model.AssetType;
+import com.examly.springapp.repository.AssetRepository;
+import com.examly.springapp.service.AssetStatsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Two in-memory H2 databases stand in for the primary and the replica; "replication" is a script copy
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "asset.datasource.replica.url=jdbc:h2:mem:routing-replica;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "asset.datasource.read-your-writes-window=PT1M",
+        "asset.api-keys=writer,reader"
+})
+@AutoConfigureMockMvc
+class ReadWriteRoutingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private AssetStatsService assetStatsService;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primary;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    @BeforeEach
+    void init() throws IOException {
+        assetRepository.deleteAll();
+        replicate();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        assetRepository.deleteAll();
+    }
+
+    @Test
+    void testReadsGoToReplicaExceptForRecentWriters() throws Exception {
+        Asset asset = new Asset();
+        asset.setName("Dell Latitude 5420");
+        asset.setType(AssetType.HARDWARE);
+        asset.setSerialNumber("DL5420-2023-001");
+        asset.setPurchaseDate(LocalDate.of(2023, 1, 15));
+        asset.setStatus(AssetStatus.AVAILABLE);
+
+        mockMvc.perform(post("/api/assets")
+                .header("X-API-Key", "writer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(asset)))
+                .andExpect(status().isCreated());
+
+        // Not replicated yet: other clients read the replica, the writer reads the primary
+        mockMvc.perform(get("/api/assets").header("X-API-Key", "reader"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get("/api/assets").header("X-API-Key", "writer"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        replicate();
+        mockMvc.perform(get("/api/assets").header("X-API-Key", "reader"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].serialNumber").value("DL5420-2023-001"));
+    }
+
+    @Test
+    void testRecentWritersBypassTheAssetCache() throws Exception {
+        Asset asset = new Asset();
+        asset.setName("Dell Latitude 5420");
+        asset.setType(AssetType.HARDWARE);
+        asset.setSerialNumber("DL5420-2023-003");
+        asset.setPurchaseDate(LocalDate.of(2023, 1, 15));
+        asset.setStatus(AssetStatus.AVAILABLE);
+        Long id = assetRepository.save(asset).getId();
+        replicate();
+
+        mockMvc.perform(patch("/api/assets/" + id + "/status")
+                .header("X-API-Key", "writer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("status", "UNDER_MAINTENANCE"))))
+                .andExpect(status().isOk());
+
+        // Another client refills the shared cache from the lagging replica; the writer must not be served that copy
+        mockMvc.perform(get("/api/assets/" + id).header("X-API-Key", "reader"))
+                .andExpect(jsonPath("$.status").value("AVAILABLE"));
+        mockMvc.perform(get("/api/assets/" + id).header("X-API-Key", "writer"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UNDER_MAINTENANCE"));
+    }
+
+    @Test
+    void testStatsReconcileReadsThePrimary() {
+        Asset asset = new Asset();
+        asset.setName("Dell Latitude 5420");
+        asset.setType(AssetType.HARDWARE);
+        asset.setSerialNumber("DL5420-2023-002");
+        asset.setPurchaseDate(LocalDate.of(2023, 1, 15));
+        asset.setStatus(AssetStatus.AVAILABLE);
+        assetRepository.save(asset);
+
+        // The replica has not seen the insert; a reconcile against it would report nothing
+        assetStatsService.reconcile();
+        assertEquals(1, assetStatsService.getStats().getTotal());
+    }
+
+    private void replicate() throws IOException {
+        File script = File.createTempFile("replica-", ".sql");
+        try {
+            new JdbcTemplate(primary).execute("SCRIPT TO '" + script.getAbsolutePath() + "'");
+            JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+            replicaJdbc.execute("DROP ALL OBJECTS");
+            replicaJdbc.execute("RUNSCRIPT FROM '" + script.getAbsolutePath() + "'");
+        } finally {
+            Files.deleteIfExists(script.toPath());
+        }
+    }
+}
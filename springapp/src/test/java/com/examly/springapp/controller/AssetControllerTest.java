@@ -1,23 +1,41 @@
 package com.examly.springapp.controller;
 
+import com.examly.springapp.dto.AssetFilter;
 import com.examly.springapp.model.Asset;
 import com.examly.springapp.model.AssetStatus;
 import com.examly.springapp.model.AssetType;
 import com.examly.springapp.repository.AssetRepository;
+import com.examly.springapp.repository.AssetEventRepository;
+import com.examly.springapp.repository.AssetSpecifications;
+import com.examly.springapp.service.AssetAuditWriter;
+import com.examly.springapp.service.AssetService;
+import com.examly.springapp.service.AssetStatsService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -34,11 +52,27 @@ class AssetControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private AssetService assetService;
+
+    @Autowired
+    private AssetStatsService assetStatsService;
+
+    @Autowired
+    private AssetAuditWriter assetAuditWriter;
+
+    @Autowired
+    private AssetEventRepository assetEventRepository;
+
     private Asset testAsset;
 
     @BeforeEach
     void init() {
         assetRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
         testAsset = new Asset();
         testAsset.setName("Dell Latitude 5420");
         testAsset.setType(AssetType.HARDWARE);
@@ -47,6 +81,7 @@ class AssetControllerTest {
         testAsset.setStatus(AssetStatus.AVAILABLE);
         testAsset.setAssignedTo(null);
         assetRepository.save(testAsset);
+        assetStatsService.reconcile();
     }
 
     @Test
@@ -105,6 +140,50 @@ class AssetControllerTest {
                 .andExpect(jsonPath("$.message", containsString("Asset with the same serial number")));
     }
 
+    @Test
+    void testCreateAssetWithIdempotencyKey() throws Exception {
+        Asset asset = new Asset();
+        asset.setName("Cisco Switch");
+        asset.setType(AssetType.HARDWARE);
+        asset.setSerialNumber("CS-2024-001");
+        asset.setPurchaseDate(LocalDate.of(2024, 1, 10));
+        asset.setStatus(AssetStatus.AVAILABLE);
+        String body = objectMapper.writeValueAsString(asset);
+
+        String first = mockMvc.perform(post("/api/assets")
+                .header("Idempotency-Key", "create-cs-2024-001")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        // A retry gets the original result instead of a duplicate-serial error
+        mockMvc.perform(post("/api/assets")
+                .header("Idempotency-Key", "create-cs-2024-001")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(content().json(first));
+
+        asset.setName("Cisco Router");
+        mockMvc.perform(post("/api/assets")
+                .header("Idempotency-Key", "create-cs-2024-001")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(asset)))
+                .andExpect(status().isConflict());
+
+        // Keys belong to the client that sent them, so another client's identical key is a new request
+        asset.setSerialNumber("CR-2024-001");
+        mockMvc.perform(post("/api/assets").with(fromAddress("10.0.0.9"))
+                .header("Idempotency-Key", "create-cs-2024-001")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(asset)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.name").value("Cisco Router"));
+
+        assertEquals(3, assetRepository.count());
+    }
+
     @Test
     void testGetAllAssetsWithFiltering() throws Exception {
         Asset asset2 = new Asset();
@@ -139,6 +218,331 @@ class AssetControllerTest {
                 .andExpect(jsonPath("$[0].name").value("Office 365 E3"));
     }
 
+    @Test
+    void testGetAllAssetsWithCombinedFilters() throws Exception {
+        Asset asset2 = new Asset();
+        asset2.setName("Dell Latitude 7440");
+        asset2.setType(AssetType.HARDWARE);
+        asset2.setSerialNumber("DL7440-2024-001");
+        asset2.setPurchaseDate(LocalDate.of(2024, 4, 2));
+        asset2.setStatus(AssetStatus.ASSIGNED);
+        asset2.setAssignedTo("Jane Smith");
+        assetRepository.save(asset2);
+        // The search index follows commits, so end the test transaction before searching
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        mockMvc.perform(get("/api/assets?type=HARDWARE&status=ASSIGNED&search=latitude"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].serialNumber").value("DL7440-2024-001"));
+
+        mockMvc.perform(get("/api/assets?type=HARDWARE&search=5420"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].serialNumber").value("DL5420-2023-001"));
+
+        mockMvc.perform(get("/api/assets?assignedTo=Jane Smith&purchasedFrom=2024-01-01&purchasedTo=2024-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        mockMvc.perform(get("/api/assets?type=LAPTOP"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        TestTransaction.start();
+        assetRepository.deleteAll();
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+    }
+
+    @Test
+    void testGetAssetsWithFieldSelection() throws Exception {
+        mockMvc.perform(get("/api/assets?view=summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].serialNumber").value("DL5420-2023-001"))
+                .andExpect(jsonPath("$[0].name").value("Dell Latitude 5420"))
+                .andExpect(jsonPath("$[0].status").doesNotExist());
+
+        mockMvc.perform(get("/api/assets?fields=status&limit=10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(testAsset.getId()))
+                .andExpect(jsonPath("$.items[0].status").value("AVAILABLE"))
+                .andExpect(jsonPath("$.items[0].name").doesNotExist());
+
+        mockMvc.perform(get("/api/assets?fields=name,password"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testExportAssetsAsCsvAndXlsx() throws Exception {
+        // The export body is written on another thread in its own transaction
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        MvcResult csv = mockMvc.perform(get("/api/assets/export?format=csv&type=HARDWARE"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(csv))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", containsString(".csv")))
+                .andExpect(content().string(startsWith("id,name,type,serialNumber,purchaseDate,status,assignedTo,site\n")))
+                .andExpect(content().string(containsString(",Dell Latitude 5420,HARDWARE,DL5420-2023-001,2023-01-15,AVAILABLE,,default\n")));
+
+        MvcResult xlsx = mockMvc.perform(get("/api/assets/export?format=xlsx"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] workbook = mockMvc.perform(asyncDispatch(xlsx))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        // XLSX files are zip archives
+        assertEquals('P', workbook[0]);
+        assertEquals('K', workbook[1]);
+
+        mockMvc.perform(get("/api/assets/export?format=pdf"))
+                .andExpect(status().isBadRequest());
+
+        TestTransaction.start();
+        assetRepository.deleteAll();
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+    }
+
+    @Test
+    void testGetAssetsKeysetPagination() throws Exception {
+        Asset asset2 = new Asset();
+        asset2.setName("HP Mouse");
+        asset2.setType(AssetType.PERIPHERAL);
+        asset2.setSerialNumber("HP2023-001");
+        asset2.setPurchaseDate(LocalDate.of(2023, 3, 10));
+        asset2.setStatus(AssetStatus.AVAILABLE);
+        assetRepository.save(asset2);
+
+        mockMvc.perform(get("/api/assets?limit=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id").value(testAsset.getId()))
+                .andExpect(jsonPath("$.nextCursor").value(testAsset.getId()));
+
+        mockMvc.perform(get("/api/assets?limit=1&after=" + testAsset.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].name").value("HP Mouse"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        // The search index follows commits, so end the test transaction before searching
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        mockMvc.perform(get("/api/assets?limit=10&type=PERIPHERAL&search=mouse"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)));
+
+        TestTransaction.start();
+        assetRepository.deleteAll();
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+    }
+
+    @Test
+    void testBulkImportReportsPerRowOutcome() throws Exception {
+        String csv = "name,type,serialNumber,purchaseDate,status,assignedTo\n"
+                + "Lenovo T14,HARDWARE,LT14-0001,2024-02-01,AVAILABLE,\n"
+                + "\"Dell, Latitude\",HARDWARE,DL5420-2023-001,2024-02-01,AVAILABLE,\n"
+                + "X,HARDWARE,BAD-0001,2024-02-01,AVAILABLE,\n"
+                + "Logitech Mouse,PERIPHERAL,LT14-0001,2024-02-01,AVAILABLE,\n";
+
+        mockMvc.perform(post("/api/assets/bulk")
+                .contentType("text/csv")
+                .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(4))
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.duplicates").value(2))
+                .andExpect(jsonPath("$.invalid").value(1))
+                .andExpect(jsonPath("$.rows[0].outcome").value("CREATED"))
+                .andExpect(jsonPath("$.rows[1].outcome").value("DUPLICATE"))
+                .andExpect(jsonPath("$.rows[2].outcome").value("INVALID"));
+
+        mockMvc.perform(post("/api/assets/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"name\":\"Adobe Acrobat\",\"type\":\"SOFTWARE\",\"serialNumber\":\"ACRO-0001\","
+                        + "\"purchaseDate\":\"2024-01-10\",\"status\":\"AVAILABLE\"},"
+                        + "{\"name\":\"Broken\",\"type\":\"LAPTOP\",\"serialNumber\":\"BRK-0001\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.invalid").value(1));
+
+        mockMvc.perform(get("/api/assets?search=acrobat"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    // Chunks commit on their own, as outside a test transaction, so a failed batch really rolls back
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testBulkImportReportsNonDuplicateConstraintFailures() throws Exception {
+        String longAssignee = "x".repeat(300);
+        mockMvc.perform(post("/api/assets/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"name\":\"Adobe Acrobat\",\"type\":\"SOFTWARE\",\"serialNumber\":\"ACRO-0002\","
+                        + "\"purchaseDate\":\"2024-01-10\",\"status\":\"AVAILABLE\"},"
+                        + "{\"name\":\"Dell Monitor\",\"type\":\"PERIPHERAL\",\"serialNumber\":\"DM-0002\","
+                        + "\"purchaseDate\":\"2024-01-10\",\"status\":\"ASSIGNED\",\"assignedTo\":\"" + longAssignee + "\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.duplicates").value(0))
+                .andExpect(jsonPath("$.rows[1].outcome").value("INVALID"))
+                .andExpect(jsonPath("$.rows[1].message").value(containsStringIgnoringCase("assigned_to")));
+        assetRepository.deleteAll();
+    }
+
+    @Test
+    void testCachedTypeListIsEvictedOnStatusChange() throws Exception {
+        mockMvc.perform(get("/api/assets?status=AVAILABLE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        mockMvc.perform(patch("/api/assets/" + testAsset.getId() + "/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("status", "UNDER_MAINTENANCE"))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/assets?status=AVAILABLE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        mockMvc.perform(get("/api/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.assetLists.misses").isNumber());
+    }
+
+    @Test
+    void testStatsFollowCreatesAndStatusChanges() throws Exception {
+        Asset asset = new Asset();
+        asset.setName("Adobe Acrobat");
+        asset.setType(AssetType.SOFTWARE);
+        asset.setSerialNumber("AA-2024-001");
+        asset.setPurchaseDate(LocalDate.of(2024, 5, 1));
+        asset.setStatus(AssetStatus.AVAILABLE);
+        mockMvc.perform(post("/api/assets")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(asset)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(patch("/api/assets/" + testAsset.getId() + "/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("status", "ASSIGNED", "assignedTo", "Jane Smith"))))
+                .andExpect(status().isOk());
+
+        // Counters move on commit, so end the test transaction before reading them
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        mockMvc.perform(get("/api/assets/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.byTypeAndStatus.HARDWARE.AVAILABLE").value(0))
+                .andExpect(jsonPath("$.byTypeAndStatus.HARDWARE.ASSIGNED").value(1))
+                .andExpect(jsonPath("$.byTypeAndStatus.SOFTWARE.AVAILABLE").value(1))
+                .andExpect(jsonPath("$.byAssignee['Jane Smith']").value(1))
+                .andExpect(jsonPath("$.byPurchaseYear.2023").value(1))
+                .andExpect(jsonPath("$.byPurchaseYear.2024").value(1));
+
+        TestTransaction.start();
+        assetRepository.deleteAll();
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+    }
+
+    @Test
+    void testHistoryRecordsStatusTransitions() throws Exception {
+        String url = "/api/assets/" + testAsset.getId() + "/status";
+        mockMvc.perform(patch(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("status", "ASSIGNED", "assignedTo", "Auditor One"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("status", "ASSIGNED", "assignedTo", "Auditor Two", "reassign", "true"))))
+                .andExpect(status().isOk());
+
+        // Events are recorded after commit and written by a background thread
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        assetAuditWriter.flush();
+
+        mockMvc.perform(get("/api/assets/" + testAsset.getId() + "/history"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].oldStatus").value("AVAILABLE"))
+                .andExpect(jsonPath("$[0].newAssignee").value("Auditor One"))
+                .andExpect(jsonPath("$[1].oldAssignee").value("Auditor One"))
+                .andExpect(jsonPath("$[1].newAssignee").value("Auditor Two"));
+
+        mockMvc.perform(get("/api/assets/history?assignee=Auditor One"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].serialNumber").value("DL5420-2023-001"));
+
+        mockMvc.perform(get("/api/assets/999999/history"))
+                .andExpect(status().isNotFound());
+
+        TestTransaction.start();
+        assetRepository.deleteAll();
+        assetEventRepository.deleteAll();
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+    }
+
+    @Test
+    void testChangeFeedReplaysFromLastEventId() throws Exception {
+        MvcResult live = mockMvc.perform(get("/api/assets/changes"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(patch("/api/assets/" + testAsset.getId() + "/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("status", "UNDER_MAINTENANCE"))))
+                .andExpect(status().isOk());
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        String liveBody = awaitBody(live, "event:STATUS_CHANGED");
+        Matcher id = Pattern.compile("id:(\\d+)\\nevent:STATUS_CHANGED").matcher(liveBody);
+        assertTrue(id.find(), liveBody);
+        long sequence = Long.parseLong(id.group(1));
+
+        MvcResult result = mockMvc.perform(get("/api/assets/changes")
+                        .header("Last-Event-ID", String.valueOf(sequence - 1)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = awaitBody(result, "\"newStatus\":\"UNDER_MAINTENANCE\"");
+        assertTrue(body.contains("event:STATUS_CHANGED"), body);
+        assertTrue(body.contains("\"serialNumber\":\"DL5420-2023-001\""), body);
+
+        // Ids from before this process started cannot be replayed
+        MvcResult stale = mockMvc.perform(get("/api/assets/changes").header("Last-Event-ID", "0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertTrue(awaitBody(stale, "event:resync").contains("event:resync"));
+
+        TestTransaction.start();
+        assetRepository.deleteAll();
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+    }
+
+    // Changes are written by the feed's sender threads, not the request thread
+    private static String awaitBody(MvcResult result, String expected) throws Exception {
+        String body = "";
+        for (int i = 0; i < 50 && !body.contains(expected); i++) {
+            Thread.sleep(100);
+            body = result.getResponse().getContentAsString();
+        }
+        return body;
+    }
+
     @Test
     void testUpdateAssetStatus() throws Exception {
         Long id = testAsset.getId();
@@ -152,6 +556,132 @@ class AssetControllerTest {
                 .andExpect(jsonPath("$.assignedTo").value("Jane Smith"));
     }
 
+    @Test
+    void testUpdateAssetStatusConflicts() throws Exception {
+        String url = "/api/assets/" + testAsset.getId() + "/status";
+
+        mockMvc.perform(patch(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("status", "ASSIGNED", "assignedTo", "Jane Smith"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1));
+
+        mockMvc.perform(patch(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("status", "ASSIGNED", "assignedTo", "John Doe"))))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(patch(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("status", "ASSIGNED", "assignedTo", "John Doe",
+                        "reassign", "true", "version", "0"))))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(patch(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("status", "ASSIGNED", "assignedTo", "John Doe",
+                        "reassign", "true", "version", "1"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.assignedTo").value("John Doe"));
+
+        mockMvc.perform(patch(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("status", "RETIRED"))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(patch(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("status", "AVAILABLE"))))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testBulkStatusUpdate() throws Exception {
+        Asset mouse = new Asset();
+        mouse.setName("HP Mouse");
+        mouse.setType(AssetType.PERIPHERAL);
+        mouse.setSerialNumber("HP2023-001");
+        mouse.setPurchaseDate(LocalDate.of(2023, 3, 10));
+        mouse.setStatus(AssetStatus.RETIRED);
+        assetRepository.save(mouse);
+
+        Map<String, Object> byIds = Map.of("ids", List.of(testAsset.getId(), mouse.getId(), 999999L),
+                "status", "UNDER_MAINTENANCE");
+        mockMvc.perform(patch("/api/assets/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(byIds)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.notFound").value(1))
+                .andExpect(jsonPath("$.items[0].outcome").value("UPDATED"));
+
+        Map<String, Object> byFilter = Map.of("filter", Map.of("type", "HARDWARE", "status", "UNDER_MAINTENANCE"),
+                "status", "RETIRED");
+        mockMvc.perform(patch("/api/assets/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(byFilter)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1));
+
+        mockMvc.perform(get("/api/assets/" + testAsset.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("RETIRED"));
+    }
+
+    @Test
+    void testAssetsArePartitionedBySite() throws Exception {
+        Asset north = new Asset();
+        north.setSite("north");
+        north.setName("Dell Latitude 5420");
+        north.setType(AssetType.HARDWARE);
+        north.setSerialNumber("DL5420-2023-NORTH");
+        north.setPurchaseDate(LocalDate.of(2023, 1, 15));
+        north.setStatus(AssetStatus.AVAILABLE);
+
+        mockMvc.perform(post("/api/assets")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(north)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.site").value("north"));
+
+        mockMvc.perform(get("/api/assets?site=north&type=HARDWARE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].site").value("north"));
+        mockMvc.perform(get("/api/assets?type=HARDWARE"))
+                .andExpect(jsonPath("$", hasSize(2)));
+
+        Map<String, Object> bulk = Map.of("site", "north", "filter", Map.of("type", "HARDWARE"), "status", "RETIRED");
+        mockMvc.perform(patch("/api/assets/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bulk)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1));
+        mockMvc.perform(get("/api/assets/" + testAsset.getId()))
+                .andExpect(jsonPath("$.site").value(Asset.DEFAULT_SITE))
+                .andExpect(jsonPath("$.status").value("AVAILABLE"));
+        mockMvc.perform(get("/api/assets/" + testAsset.getId() + "?site=north"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(patch("/api/assets/" + testAsset.getId() + "/status?site=north")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("status", "UNDER_MAINTENANCE"))))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(patch("/api/assets/" + testAsset.getId() + "/status?site=" + Asset.DEFAULT_SITE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("status", "UNDER_MAINTENANCE"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/assets/" + testAsset.getId() + "/history?site=north"))
+                .andExpect(status().isNotFound());
+
+        // Serial numbers are unique across sites
+        north.setSerialNumber(testAsset.getSerialNumber());
+        mockMvc.perform(post("/api/assets")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(north)))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     void testUpdateAssetStatusNotFound() throws Exception {
         Map<String, Object> payload = Map.of("status", "AVAILABLE");
@@ -170,6 +700,41 @@ class AssetControllerTest {
                 .andExpect(jsonPath("$.name").value(testAsset.getName()));
     }
 
+    @Test
+    void testConditionalGetReturnsNotModified() throws Exception {
+        String url = "/api/assets/" + testAsset.getId();
+        MvcResult first = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""))
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn();
+        mockMvc.perform(get(url).header("If-None-Match", first.getResponse().getHeader("ETag")))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        String listETag = mockMvc.perform(get("/api/assets?type=HARDWARE"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("W/\"1-")))
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/api/assets?type=HARDWARE").header("If-None-Match", listETag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(patch(url + "/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("status", "UNDER_MAINTENANCE"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(url).header("If-None-Match", first.getResponse().getHeader("ETag")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""));
+        mockMvc.perform(get("/api/assets?type=HARDWARE").header("If-None-Match", listETag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(listETag)))
+                .andExpect(jsonPath("$[0].status").value("UNDER_MAINTENANCE"));
+        mockMvc.perform(get("/api/assets?type=HARDWARE&limit=10").header("If-None-Match", listETag))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+    }
+
     @Test
     void testGetAssetByIdNotFound() throws Exception {
         mockMvc.perform(get("/api/assets/999999"))
@@ -215,10 +780,106 @@ class AssetControllerTest {
         asset.setPurchaseDate(LocalDate.of(2022, 5, 5));
         asset.setStatus(AssetStatus.AVAILABLE);
         assetRepository.save(asset);
+        // The search index follows commits, so end the test transaction before searching
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
 
         mockMvc.perform(get("/api/assets?search=probook"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].name", containsStringIgnoringCase("probook")));
+
+        TestTransaction.start();
+        assetRepository.deleteAll();
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+    }
+
+    @Test
+    void testDatabaseSearchMatchesWildcardsLiterally() {
+        Asset asset = new Asset();
+        asset.setName("Cotton 100% Cover_Set");
+        asset.setType(AssetType.PERIPHERAL);
+        asset.setSerialNumber("CC-100");
+        asset.setPurchaseDate(LocalDate.of(2024, 1, 5));
+        asset.setStatus(AssetStatus.AVAILABLE);
+        assetRepository.save(asset);
+
+        // The LIKE fallback serves searches while the index is loading
+        assertEquals(1, assetRepository.findAll(AssetSpecifications.matching(AssetFilter.of(null, null, "0%"))).size());
+        assertEquals(1, assetRepository.findAll(AssetSpecifications.matching(AssetFilter.of(null, null, "r_s"))).size());
+        assertEquals(0, assetRepository.findAll(AssetSpecifications.matching(AssetFilter.of(null, null, "%%"))).size());
+        assertEquals(0, assetRepository.findAll(AssetSpecifications.matching(AssetFilter.of(null, null, "co_er"))).size());
+    }
+
+    @Test
+    void testSearchFlagsCappedListsAndPagesStreamsAndExportsEveryMatch() throws Exception {
+        Asset asset2 = new Asset();
+        asset2.setName("Dell Latitude 7440");
+        asset2.setType(AssetType.HARDWARE);
+        asset2.setSerialNumber("DL7440-2024-001");
+        asset2.setPurchaseDate(LocalDate.of(2024, 4, 2));
+        asset2.setStatus(AssetStatus.AVAILABLE);
+        assetRepository.save(asset2);
+        // The search index follows commits, so end the test transaction before searching
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        AssetService target = AopTestUtils.getTargetObject(assetService);
+        ReflectionTestUtils.setField(target, "searchMaxResults", 1);
+        try {
+            mockMvc.perform(get("/api/assets?search=latitude"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("X-Search-Truncated", "true"))
+                    .andExpect(jsonPath("$", hasSize(1)));
+
+            mockMvc.perform(get("/api/assets?search=latitude&view=summary"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("X-Search-Truncated", "true"))
+                    .andExpect(jsonPath("$", hasSize(1)));
+
+            mockMvc.perform(get("/api/assets?search=latitude&type=HARDWARE&status=AVAILABLE"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("X-Search-Truncated", "true"));
+
+            mockMvc.perform(get("/api/assets?search=7440"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist("X-Search-Truncated"))
+                    .andExpect(jsonPath("$", hasSize(1)));
+
+            mockMvc.perform(get("/api/assets?search=latitude&limit=1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items[0].serialNumber").value("DL5420-2023-001"))
+                    .andExpect(jsonPath("$.nextCursor").value(testAsset.getId()));
+
+            mockMvc.perform(get("/api/assets?search=latitude&fields=serialNumber&limit=1&after=" + testAsset.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items[0].serialNumber").value("DL7440-2024-001"))
+                    .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+            // Short queries take the same path, from a scan of the in-memory documents
+            MvcResult stream = mockMvc.perform(get("/api/assets/stream?search=dl"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(stream))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(containsString("DL5420-2023-001")))
+                    .andExpect(content().string(containsString("DL7440-2024-001")));
+
+            MvcResult csv = mockMvc.perform(get("/api/assets/export?format=csv&search=7440"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(csv))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(containsString("DL7440-2024-001")))
+                    .andExpect(content().string(not(containsString("DL5420-2023-001"))));
+        } finally {
+            ReflectionTestUtils.setField(target, "searchMaxResults", 100);
+        }
+
+        TestTransaction.start();
+        assetRepository.deleteAll();
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
     }
 
     @Test
@@ -271,4 +932,37 @@ class AssetControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.errors.assignedTo").exists());
     }
+
+    @Test
+    void testUnfilteredListIsRateLimitedPerClient() throws Exception {
+        MvcResult limited = null;
+        for (int i = 0; i < 100 && limited == null; i++) {
+            // An API key that is not configured does not make a new client
+            MvcResult result = mockMvc.perform(get("/api/assets").with(fromAddress("10.0.0.1"))
+                    .header("X-API-Key", "burst-test-" + i)).andReturn();
+            if (result.getResponse().getStatus() == 429) {
+                limited = result;
+            }
+        }
+        assertTrue(limited != null, "expected the list budget to run out");
+        assertTrue(Long.parseLong(limited.getResponse().getHeader("Retry-After")) >= 1);
+
+        mockMvc.perform(get("/api/assets").with(fromAddress("10.0.0.2")))
+                .andExpect(status().isOk());
+
+        // Blank filters and paging parameters still cost the unfiltered rate
+        boolean blankLimited = false;
+        for (int i = 0; i < 15 && !blankLimited; i++) {
+            blankLimited = mockMvc.perform(get("/api/assets?site=&search=&limit=10").with(fromAddress("10.0.0.3")))
+                    .andReturn().getResponse().getStatus() == 429;
+        }
+        assertTrue(blankLimited, "expected blank filters to be charged as unfiltered");
+    }
+
+    private static RequestPostProcessor fromAddress(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
 }
@@ -0,0 +1,100 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.event.AssetChangedEvent;
+import com.examly.springapp.model.Asset;
+import com.examly.springapp.model.AssetStatus;
+import com.examly.springapp.model.AssetType;
+import com.examly.springapp.repository.AssetEventRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {
+        "asset.audit.max-attempts=2",
+        "asset.audit.retry-backoff=PT0S",
+        "asset.audit.flush-interval=PT1H"
+})
+class AssetAuditWriterTest {
+
+    @TempDir
+    static Path spillDir;
+
+    @DynamicPropertySource
+    static void spillDir(DynamicPropertyRegistry registry) {
+        registry.add("asset.audit.spill-dir", spillDir::toString);
+    }
+
+    @Autowired
+    private AssetAuditWriter auditWriter;
+
+    @Autowired
+    private AssetEventRepository assetEventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testFailedBatchIsSpilledAndReplayed() throws IOException {
+        assetEventRepository.deleteAll();
+        Asset asset = asset(42L, "SPILL-1");
+
+        jdbcTemplate.execute("ALTER TABLE asset_event RENAME TO asset_event_offline");
+        try {
+            auditWriter.onAssetChanged(AssetChangedEvent.created(asset));
+            auditWriter.flush();
+            assertEquals(1, spilledFiles());
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE asset_event_offline RENAME TO asset_event");
+        }
+
+        auditWriter.flush();
+        assertEquals(0, spilledFiles());
+        assertEquals(1, assetEventRepository.count());
+        assertEquals("SPILL-1", assetEventRepository.findAll().get(0).getSerialNumber());
+        assetEventRepository.deleteAll();
+    }
+
+    @Test
+    void testWrittenEventsAreFoundByTheirTime() {
+        assetEventRepository.deleteAll();
+        AssetChangedEvent event = AssetChangedEvent.created(asset(43L, "AUDIT-TZ-1"));
+        auditWriter.onAssetChanged(event);
+        auditWriter.flush();
+
+        Duration slack = Duration.ofSeconds(1);
+        assertEquals(1, assetEventRepository.findAssetHistory(43L, event.getOccurredAt().minus(slack),
+                event.getOccurredAt().plus(slack), Limit.of(10)).size());
+        assetEventRepository.deleteAll();
+    }
+
+    private static Asset asset(Long id, String serialNumber) {
+        Asset asset = new Asset();
+        asset.setId(id);
+        asset.setName("Audited asset");
+        asset.setType(AssetType.HARDWARE);
+        asset.setSerialNumber(serialNumber);
+        asset.setPurchaseDate(LocalDate.of(2024, 1, 1));
+        asset.setStatus(AssetStatus.AVAILABLE);
+        return asset;
+    }
+
+    private long spilledFiles() throws IOException {
+        try (Stream<Path> files = Files.list(spillDir)) {
+            return files.count();
+        }
+    }
+}
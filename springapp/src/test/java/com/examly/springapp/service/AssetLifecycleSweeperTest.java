@@ -0,0 +1,113 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.Asset;
+import com.examly.springapp.model.AssetLifecycleCheckpoint;
+import com.examly.springapp.model.AssetStatus;
+import com.examly.springapp.model.AssetType;
+import com.examly.springapp.repository.AssetLifecycleCheckpointRepository;
+import com.examly.springapp.repository.AssetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "asset.lifecycle.rules=HARDWARE:FLAG_REFRESH:P2Y,PERIPHERAL:RETIRE:P3Y",
+        "asset.lifecycle.cron=-",
+        "asset.lifecycle.batch-size=2",
+        "asset.lifecycle.batch-pause=PT0S"
+})
+@Transactional
+class AssetLifecycleSweeperTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 1);
+
+    @Autowired
+    private AssetLifecycleSweeper sweeper;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private AssetLifecycleCheckpointRepository checkpointRepository;
+
+    @BeforeEach
+    void init() {
+        assetRepository.deleteAll();
+        checkpointRepository.deleteAll();
+    }
+
+    private Asset save(String serial, AssetType type, LocalDate purchased, AssetStatus status, String assignedTo) {
+        Asset asset = new Asset();
+        asset.setName("Asset " + serial);
+        asset.setType(type);
+        asset.setSerialNumber(serial);
+        asset.setPurchaseDate(purchased);
+        asset.setStatus(status);
+        asset.setAssignedTo(assignedTo);
+        return assetRepository.save(asset);
+    }
+
+    @Test
+    void testSweepFlagsAndRetiresByPurchaseAge() {
+        Asset old1 = save("HW-1", AssetType.HARDWARE, LocalDate.of(2020, 3, 1), AssetStatus.AVAILABLE, null);
+        Asset old2 = save("HW-2", AssetType.HARDWARE, LocalDate.of(2021, 3, 1), AssetStatus.ASSIGNED, "Jane");
+        Asset old3 = save("HW-3", AssetType.HARDWARE, LocalDate.of(2023, 12, 31), AssetStatus.AVAILABLE, null);
+        Asset recent = save("HW-4", AssetType.HARDWARE, LocalDate.of(2025, 6, 1), AssetStatus.AVAILABLE, null);
+        Asset retired = save("HW-5", AssetType.HARDWARE, LocalDate.of(2019, 1, 1), AssetStatus.RETIRED, null);
+        Asset oldPeripheral = save("PR-1", AssetType.PERIPHERAL, LocalDate.of(2021, 5, 1), AssetStatus.ASSIGNED, "Joe");
+        Asset newPeripheral = save("PR-2", AssetType.PERIPHERAL, LocalDate.of(2024, 5, 1), AssetStatus.AVAILABLE, null);
+
+        Map<String, Integer> changed = sweeper.sweep(TODAY, Instant.MAX);
+
+        assertEquals(Map.of("PERIPHERAL:RETIRE", 1, "HARDWARE:FLAG_REFRESH", 3), changed);
+        for (Asset asset : new Asset[] {old1, old2, old3}) {
+            Asset flagged = assetRepository.findById(asset.getId()).orElseThrow();
+            assertTrue(flagged.isRefreshDue());
+            assertEquals(asset.getVersion() + 1, flagged.getVersion());
+        }
+        assertFalse(assetRepository.findById(recent.getId()).orElseThrow().isRefreshDue());
+        assertFalse(assetRepository.findById(retired.getId()).orElseThrow().isRefreshDue());
+        Asset swept = assetRepository.findById(oldPeripheral.getId()).orElseThrow();
+        assertEquals(AssetStatus.RETIRED, swept.getStatus());
+        assertNull(swept.getAssignedTo());
+        assertEquals(AssetStatus.AVAILABLE, assetRepository.findById(newPeripheral.getId()).orElseThrow().getStatus());
+
+        AssetLifecycleCheckpoint checkpoint = checkpointRepository.findById("HARDWARE:FLAG_REFRESH").orElseThrow();
+        assertEquals(TODAY, checkpoint.getCompletedOn());
+        assertEquals(0L, checkpoint.getLastId());
+        assertEquals(Map.of("PERIPHERAL:RETIRE", 0, "HARDWARE:FLAG_REFRESH", 0), sweeper.sweep(TODAY, Instant.MAX));
+    }
+
+    @Test
+    void testSweepResumesAfterCheckpointAndStopsAtDeadline() {
+        Asset first = save("HW-1", AssetType.HARDWARE, LocalDate.of(2020, 3, 1), AssetStatus.AVAILABLE, null);
+        Asset second = save("HW-2", AssetType.HARDWARE, LocalDate.of(2020, 4, 1), AssetStatus.AVAILABLE, null);
+
+        assertTrue(sweeper.sweep(TODAY, Instant.now().minusSeconds(1)).isEmpty());
+        assertFalse(assetRepository.findById(first.getId()).orElseThrow().isRefreshDue());
+
+        AssetLifecycleCheckpoint checkpoint = new AssetLifecycleCheckpoint("HARDWARE:FLAG_REFRESH");
+        checkpoint.advance(first.getId());
+        checkpointRepository.save(checkpoint);
+
+        assertEquals(1, sweeper.sweep(TODAY, Instant.MAX).get("HARDWARE:FLAG_REFRESH"));
+        assertFalse(assetRepository.findById(first.getId()).orElseThrow().isRefreshDue());
+        assertTrue(assetRepository.findById(second.getId()).orElseThrow().isRefreshDue());
+    }
+
+    @Test
+    void testParseRulesRunsRetirementFirst() {
+        assertEquals(AssetLifecycleSweeper.Action.RETIRE,
+                AssetLifecycleSweeper.parseRules("hardware:flag_refresh:P3Y, HARDWARE:RETIRE:P6Y").get(0).action());
+        assertThrows(IllegalArgumentException.class, () -> AssetLifecycleSweeper.parseRules("HARDWARE:RETIRE"));
+        assertTrue(AssetLifecycleSweeper.parseRules("").isEmpty());
+    }
+}
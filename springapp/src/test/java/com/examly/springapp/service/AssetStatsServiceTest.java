@@ -0,0 +1,64 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.AssetStats;
+import com.examly.springapp.event.AssetChangedEvent;
+import com.examly.springapp.model.Asset;
+import com.examly.springapp.model.AssetStatus;
+import com.examly.springapp.model.AssetType;
+import com.examly.springapp.repository.AssetRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AssetStatsServiceTest {
+
+    @Test
+    void testEventsCommittedDuringRebuildSurviveTheSwap() {
+        AssetRepository repository = mock(AssetRepository.class);
+        AssetStatsService service = new AssetStatsService(mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(service, "assetRepository", repository);
+        when(repository.countByTypeAndStatus()).thenReturn(rows(new Object[]{AssetType.HARDWARE, AssetStatus.AVAILABLE, 1L}));
+        when(repository.countByAssignee()).thenReturn(rows());
+        when(repository.countByPurchaseYear()).thenReturn(rows(new Object[]{2023, 1L}));
+        service.reconcile();
+
+        // The asset commits after its row was counted by the rebuild, but before the rebuilt counters are swapped in
+        when(repository.countByPurchaseYear()).thenAnswer(invocation -> {
+            service.onAssetChanged(AssetChangedEvent.created(asset()));
+            return rows(new Object[]{2023, 1L});
+        });
+        service.reconcile();
+
+        AssetStats stats = service.getStats();
+        assertEquals(2, stats.getTotal());
+        assertEquals(1L, stats.getByTypeAndStatus().get(AssetType.SOFTWARE).get(AssetStatus.ASSIGNED));
+        assertEquals(1L, stats.getByAssignee().get("Jane Smith"));
+        assertEquals(1L, stats.getByPurchaseYear().get(2024));
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+
+    private static Asset asset() {
+        Asset asset = new Asset();
+        asset.setId(7L);
+        asset.setName("Adobe Acrobat");
+        asset.setType(AssetType.SOFTWARE);
+        asset.setSerialNumber("AA-2024-001");
+        asset.setPurchaseDate(LocalDate.of(2024, 5, 1));
+        asset.setStatus(AssetStatus.ASSIGNED);
+        asset.setAssignedTo("Jane Smith");
+        asset.setSite(Asset.DEFAULT_SITE);
+        asset.setVersion(0L);
+        return asset;
+    }
+}
@@ -0,0 +1,72 @@
+package com.examly.springapp.snapshot;
+
+import com.examly.springapp.dto.AssetFilter;
+import com.examly.springapp.model.Asset;
+import com.examly.springapp.model.AssetStatus;
+import com.examly.springapp.model.AssetType;
+import com.examly.springapp.repository.AssetRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "asset.snapshot.enabled=true",
+        "asset.snapshot.verify-interval=PT1H",
+        "asset.snapshot.verify-settle=PT0S"
+})
+class AssetSnapshotLoaderTest {
+
+    @Autowired
+    private AssetSnapshot snapshot;
+
+    @Autowired
+    private AssetSnapshotLoader loader;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        assetRepository.deleteAll();
+    }
+
+    @Test
+    void testOutOfBandWritesAreReloaded() throws Exception {
+        Asset asset = new Asset();
+        asset.setName("Dell Latitude 5420");
+        asset.setType(AssetType.HARDWARE);
+        asset.setSerialNumber("DL5420-2023-001");
+        asset.setPurchaseDate(LocalDate.of(2023, 1, 15));
+        asset.setStatus(AssetStatus.AVAILABLE);
+        assetRepository.save(asset);
+        AssetFilter hardware = AssetFilter.of("HARDWARE", null, null);
+        for (int i = 0; i < 50 && !snapshot.isReady(); i++) {
+            Thread.sleep(100);
+        }
+        // The initial load may have run before the insert; a verify reloads it if so
+        awaitRows(hardware, 1);
+
+        // Another instance or a manual fix: no change event reaches this snapshot
+        jdbcTemplate.update("DELETE FROM asset");
+        awaitRows(hardware, 0);
+        // The previous copy answered throughout the reload
+        assertTrue(snapshot.canAnswer(hardware));
+    }
+
+    private void awaitRows(AssetFilter filter, int expected) throws InterruptedException {
+        loader.verify();
+        for (int i = 0; i < 50 && snapshot.query(filter).size() != expected; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(expected, snapshot.query(filter).size());
+    }
+}
@@ -0,0 +1,43 @@
+#!/usr/bin/env bash
+# Measures time-to-first-request for each startup mode against the database in application.properties.
+# Build first: ./mvnw -DskipTests package, ./mvnw -Pcds package and, for native, ./mvnw -Pnative native:compile.
+# Usage: ./startup-benchmark.sh [runs]   (modes whose artifact is missing are skipped)
+set -euo pipefail
+cd "$(dirname "$0")"
+
+RUNS=${1:-5}
+PORT=${PORT:-18080}
+JAR=target/springapp-0.0.1-SNAPSHOT.jar
+CDS_JAR=target/cds/springapp-0.0.1-SNAPSHOT.jar
+NATIVE=target/springapp
+
+now_ms() { date +%s%3N; }
+
+measure() {
+    local mode=$1; shift
+    local total=0
+    for ((i = 1; i <= RUNS; i++)); do
+        local start; start=$(now_ms)
+        "$@" --server.port="$PORT" > "target/startup-$mode.log" 2>&1 &
+        local pid=$!
+        until curl -sf -o /dev/null "http://localhost:$PORT/api/assets?limit=1"; do
+            if ! kill -0 "$pid" 2> /dev/null; then
+                echo "$mode: process exited, see target/startup-$mode.log" >&2
+                return 1
+            fi
+            sleep 0.02
+        done
+        local elapsed=$(($(now_ms) - start))
+        total=$((total + elapsed))
+        kill "$pid"; wait "$pid" 2> /dev/null || true
+    done
+    printf '%-12s %6d ms (mean of %d)\n' "$mode" $((total / RUNS)) "$RUNS"
+}
+
+[[ -f $JAR ]] && measure default java -jar "$JAR"
+[[ -f $JAR ]] && measure prod java -jar "$JAR" --spring.profiles.active=prod
+# The archive only applies when the classpath matches the training run, which ran inside target/cds
+[[ -f $CDS_JAR ]] && measure prod-cds bash -c 'cd target/cds && exec java -XX:SharedArchiveFile=application.jsa \
+    -jar springapp-0.0.1-SNAPSHOT.jar "$@"' _ --spring.profiles.active=prod
+[[ -x $NATIVE ]] && measure prod-native "$NATIVE" --spring.profiles.active=prod
+exit 0